@@ -0,0 +1,166 @@
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * The BigDecimal arithmetic shared by {@link Matrix} and its factorizations, applied under a {@link MathContext}.
+ * <p>
+ * A null context keeps the original arithmetic: sums and products are exact, divisions round to
+ * {@link Matrix#decimalCount} decimal places, and results are rounded to two places fewer.
+ * Elimination steps additionally cap their scale at {@link Matrix#decimalCount}, so the digit count of
+ * intermediate values cannot grow without bound as the elimination proceeds.
+ * With a context, every single step rounds to its precision, so the cost of each operation is bounded by it.
+ * <p>
+ * Either way, a pivot or result only counts as zero when it is negligible next to the operands it was computed
+ * from (see {@link #isNegligible}), so a problem whose entries are all small is not mistaken for a singular one.
+ */
+final class DecimalMath {
+    private DecimalMath() {
+    }
+
+    static BigDecimal add(BigDecimal a, BigDecimal b, MathContext mc) {
+        return mc == null ? a.add(b) : a.add(b, mc);
+    }
+
+    static BigDecimal subtract(BigDecimal a, BigDecimal b, MathContext mc) {
+        return mc == null ? a.subtract(b) : a.subtract(b, mc);
+    }
+
+    static BigDecimal multiply(BigDecimal a, BigDecimal b, MathContext mc) {
+        return mc == null ? a.multiply(b) : a.multiply(b, mc);
+    }
+
+    static BigDecimal divide(BigDecimal a, BigDecimal b, MathContext mc) {
+        return mc == null ? a.divide(b, Matrix.decimalCount, Matrix.roundingMode) : a.divide(b, mc);
+    }
+
+    /**
+     * The square root of a positive value; without a context, to {@link Matrix#decimalCount} decimal places
+     */
+    static BigDecimal sqrt(BigDecimal value, MathContext mc) {
+        if (mc == null) {
+            // Enough significant digits to cover every integer digit of the root, plus the decimal places
+            int integerDigits = Math.max(0, value.precision() - value.scale());
+            MathContext digits = new MathContext(integerDigits / 2 + 1 + Matrix.decimalCount, Matrix.roundingMode);
+            return limit(value.sqrt(digits), null);
+        }
+        return value.sqrt(mc);
+    }
+
+    /**
+     * base^exponent by repeated squaring; a negative exponent divides one by the positive power.
+     * Every product is limited, so without a context the scale stays bounded instead of doubling with each squaring
+     */
+    static BigDecimal pow(BigDecimal base, long exponent, MathContext mc) {
+        BigDecimal result = BigDecimal.ONE;
+        BigDecimal square = base;
+        // Unsigned shifts, so even Long.MIN_VALUE has a magnitude
+        for (long k = Math.abs(exponent); k != 0; k >>>= 1) {
+            if ((k & 1) == 1) {
+                result = limit(multiply(result, square, mc), mc);
+            }
+            if (k >>> 1 != 0) {
+                square = limit(multiply(square, square, mc), mc);
+            }
+        }
+        return exponent < 0 ? divide(BigDecimal.ONE, result, mc) : result;
+    }
+
+    /**
+     * a + b * c, the core of every elimination step
+     */
+    static BigDecimal addProduct(BigDecimal a, BigDecimal b, BigDecimal c, MathContext mc) {
+        if (mc == null) {
+            return limit(a.add(b.multiply(c)), null);
+        }
+        return a.add(b.multiply(c, mc), mc);
+    }
+
+    /**
+     * a - b * c, the core of every substitution step
+     */
+    static BigDecimal subtractProduct(BigDecimal a, BigDecimal b, BigDecimal c, MathContext mc) {
+        if (mc == null) {
+            return limit(a.subtract(b.multiply(c)), null);
+        }
+        return a.subtract(b.multiply(c, mc), mc);
+    }
+
+    /**
+     * Bounds the size of an intermediate value: to the precision of the context,
+     * or without one, to at most {@link Matrix#decimalCount} decimal places
+     *
+     * @param value The value
+     * @param mc    The context, or null
+     * @return The bounded value
+     */
+    static BigDecimal limit(BigDecimal value, MathContext mc) {
+        if (mc == null) {
+            return value.scale() > Matrix.decimalCount ? value.setScale(Matrix.decimalCount, Matrix.roundingMode) : value;
+        }
+        return value.round(mc);
+    }
+
+    /**
+     * Rounds a final result, dropping any trailing zeros. Without a context, values within half a unit of the
+     * last kept place become zero, as they always have; with one, only the precision is applied, so small
+     * results of well-scaled problems survive
+     *
+     * @param value The value
+     * @param mc    The context, or null
+     * @return The rounded value
+     */
+    static BigDecimal round(BigDecimal value, MathContext mc) {
+        if (mc == null) {
+            return value.setScale(Matrix.decimalCount - 2, Matrix.roundingMode).stripTrailingZeros();
+        }
+        return value.signum() == 0 ? BigDecimal.ZERO : value.round(mc).stripTrailingZeros();
+    }
+
+    /**
+     * Rounds a final result that was computed as a sum of terms, zeroing it if the sum is nothing but the rounding
+     * error left over when terms of the given magnitude cancel
+     *
+     * @param value     The value
+     * @param reference The magnitude of the largest term that went into the value
+     * @param mc        The context, or null
+     * @return The rounded value
+     */
+    static BigDecimal round(BigDecimal value, BigDecimal reference, MathContext mc) {
+        return isNegligible(value, reference, mc) ? BigDecimal.ZERO : round(value, mc);
+    }
+
+    /**
+     * Checks if a value is within the accumulated rounding error of zero, relative to the magnitude of the
+     * operands it came from: below |reference| * 10^-(decimalCount - 2) without a context, or
+     * |reference| * 10^-(precision - 2) with one. Against a zero reference, or under an unlimited context,
+     * only zero itself is negligible
+     *
+     * @param value     The value
+     * @param reference The magnitude the value is measured against, such as the largest entry of its row
+     * @param mc        The context, or null
+     * @return True if the value is negligible
+     */
+    static boolean isNegligible(BigDecimal value, BigDecimal reference, MathContext mc) {
+        if (value.signum() == 0) {
+            return true;
+        }
+        if (mc != null && mc.getPrecision() == 0) {
+            return false;
+        }
+        int digits = (mc == null ? Matrix.decimalCount : mc.getPrecision()) - 2;
+        return value.abs().scaleByPowerOfTen(digits).compareTo(reference.abs()) < 0;
+    }
+
+    /**
+     * The largest magnitude among the given values, used as the reference of {@link #isNegligible}
+     */
+    static BigDecimal largest(BigDecimal[] values) {
+        BigDecimal largest = BigDecimal.ZERO;
+        for (BigDecimal value : values) {
+            if (value.abs().compareTo(largest) > 0) {
+                largest = value.abs();
+            }
+        }
+        return largest;
+    }
+}
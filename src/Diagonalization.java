@@ -0,0 +1,200 @@
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * A diagonalization A = P * D * P^-1, where D is diagonal and the columns of P are eigenvectors.
+ * <p>
+ * Once a matrix is diagonalized, any power of it is P * D^n * P^-1: the eigenvalues are raised to the power as
+ * scalars, so a power costs a single matrix product however large the exponent is. Symmetric matrices are
+ * diagonalized by {@link Matrix#diagonalize()}; for any other diagonalizable matrix with a known
+ * eigendecomposition, construct one from P and D directly.
+ */
+public class Diagonalization {
+    /**
+     * Sweeps allowed before the Jacobi iteration gives up; it converges quadratically, usually within ten
+     */
+    static final int MAX_SWEEPS = 50;
+
+    private final Matrix p;
+    private final BigDecimal[] eigenvalues;
+    private final Matrix pInverse;
+    private final MathContext mathContext;
+
+    /**
+     * Creates the diagonalization P * D * P^-1 from its eigenvectors and eigenvalues. P is inverted once, up front
+     *
+     * @param p The eigenvectors, as the columns of an invertible matrix
+     * @param d The eigenvalues, as a diagonal matrix
+     */
+    public Diagonalization(Matrix p, Matrix d) {
+        this(p, d, p.inverse());
+    }
+
+    /**
+     * Creates the diagonalization with an inverse that is already known, such as the transpose of an orthogonal P
+     */
+    Diagonalization(Matrix p, Matrix d, Matrix pInverse) {
+        if (!p.isSquare() || !d.isSquare() || p.rows() != d.rows()) {
+            throw new IllegalArgumentException("P and D must be square matrices of the same size");
+        }
+        if (!d.structure().isDiagonal()) {
+            throw new IllegalArgumentException("D must be a diagonal matrix");
+        }
+        this.p = p.copy();
+        this.pInverse = pInverse;
+        this.mathContext = p.mathContext();
+        this.eigenvalues = new BigDecimal[d.rows()];
+        for (int i = 0; i < eigenvalues.length; i++) {
+            eigenvalues[i] = d.getBigDecimal(i, i);
+        }
+    }
+
+    /**
+     * Returns A^n = P * D^n * P^-1. Negative powers need every eigenvalue to be nonzero
+     *
+     * @param exponent The power
+     * @return A^n
+     */
+    public Matrix pow(long exponent) {
+        int n = eigenvalues.length;
+        // P * D^n scales the columns of P
+        BigDecimal[][] scaled = new BigDecimal[n][n];
+        for (int j = 0; j < n; j++) {
+            BigDecimal power = DecimalMath.pow(eigenvalues[j], exponent, mathContext);
+            for (int i = 0; i < n; i++) {
+                BigDecimal value = DecimalMath.multiply(p.getBigDecimal(i, j), power, mathContext);
+                scaled[i][j] = DecimalMath.limit(value, mathContext);
+            }
+        }
+        Matrix result = Matrix.wrap(scaled, mathContext).multiply(pInverse);
+        result.round();
+        return result;
+    }
+
+    //================================================================================================================//
+    //                                              Getters
+    //================================================================================================================//
+
+    /**
+     * Returns the eigenvalues, in the order of the columns of P
+     *
+     * @return A copy of the eigenvalues
+     */
+    public BigDecimal[] eigenvalues() {
+        return eigenvalues.clone();
+    }
+
+    /**
+     * Returns the eigenvectors, as the columns of P
+     *
+     * @return P
+     */
+    public Matrix eigenvectors() {
+        return p.copy();
+    }
+
+    /**
+     * Returns the diagonal matrix of eigenvalues
+     *
+     * @return D
+     */
+    public Matrix diagonal() {
+        BigDecimal[][] values = new BigDecimal[eigenvalues.length][eigenvalues.length];
+        for (int i = 0; i < values.length; i++) {
+            for (int j = 0; j < values.length; j++) {
+                values[i][j] = i == j ? eigenvalues[i] : BigDecimal.ZERO;
+            }
+        }
+        return Matrix.wrap(values, mathContext);
+    }
+
+    /**
+     * Diagonalizes a symmetric matrix with the cyclic Jacobi eigenvalue algorithm. Each rotation zeroes one
+     * off-diagonal pair; sweeps repeat until every off-diagonal entry is negligible. P comes out orthogonal,
+     * so its inverse is just its transpose
+     *
+     * @param values      The symmetric values; left untouched
+     * @param mathContext The precision, or null
+     * @return The diagonalization
+     */
+    static Diagonalization jacobi(BigDecimal[][] values, MathContext mathContext) {
+        int n = values.length;
+        BigDecimal[][] a = new BigDecimal[n][];
+        BigDecimal[][] v = new BigDecimal[n][n];
+        for (int i = 0; i < n; i++) {
+            a[i] = values[i].clone();
+            for (int j = 0; j < n; j++) {
+                v[i][j] = i == j ? BigDecimal.ONE : BigDecimal.ZERO;
+            }
+        }
+
+        BigDecimal two = BigDecimal.valueOf(2);
+        boolean converged = false;
+        for (int sweep = 0; sweep < MAX_SWEEPS && !converged; sweep++) {
+            converged = true;
+            for (int p = 0; p < n - 1; p++) {
+                for (int q = p + 1; q < n; q++) {
+                    // Negligible next to the larger of the two diagonal entries it couples
+                    if (DecimalMath.isNegligible(a[p][q], a[p][p].abs().max(a[q][q].abs()), mathContext)) {
+                        continue;
+                    }
+                    converged = false;
+
+                    // The rotation angle that zeroes a[p][q]: t = tan(angle), c = cos(angle), s = sin(angle)
+                    BigDecimal theta = DecimalMath.divide(DecimalMath.subtract(a[q][q], a[p][p], mathContext),
+                            DecimalMath.multiply(two, a[p][q], mathContext), mathContext);
+                    BigDecimal root = DecimalMath.sqrt(DecimalMath.add(DecimalMath.multiply(theta, theta, mathContext),
+                            BigDecimal.ONE, mathContext), mathContext);
+                    BigDecimal t = DecimalMath.divide(BigDecimal.ONE, DecimalMath.add(theta.abs(), root, mathContext),
+                            mathContext);
+                    if (theta.signum() < 0) {
+                        t = t.negate();
+                    }
+                    BigDecimal c = DecimalMath.divide(BigDecimal.ONE, DecimalMath.sqrt(
+                            DecimalMath.add(DecimalMath.multiply(t, t, mathContext), BigDecimal.ONE, mathContext),
+                            mathContext), mathContext);
+                    BigDecimal s = DecimalMath.limit(DecimalMath.multiply(t, c, mathContext), mathContext);
+
+                    BigDecimal apq = a[p][q];
+                    a[p][p] = DecimalMath.subtractProduct(a[p][p], t, apq, mathContext);
+                    a[q][q] = DecimalMath.addProduct(a[q][q], t, apq, mathContext);
+                    a[p][q] = BigDecimal.ZERO;
+                    a[q][p] = BigDecimal.ZERO;
+                    for (int k = 0; k < n; k++) {
+                        if (k != p && k != q) {
+                            BigDecimal akp = a[k][p];
+                            BigDecimal akq = a[k][q];
+                            a[k][p] = rotate(c, akp, s, akq, mathContext);
+                            a[k][q] = rotate(s, akp, c, akq.negate(), mathContext);
+                            a[p][k] = a[k][p];
+                            a[q][k] = a[k][q];
+                        }
+                        BigDecimal vkp = v[k][p];
+                        BigDecimal vkq = v[k][q];
+                        v[k][p] = rotate(c, vkp, s, vkq, mathContext);
+                        v[k][q] = rotate(s, vkp, c, vkq.negate(), mathContext);
+                    }
+                }
+            }
+        }
+        if (!converged) {
+            throw new ArithmeticException("Jacobi eigenvalue iteration did not converge");
+        }
+
+        BigDecimal[][] d = new BigDecimal[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                d[i][j] = i == j ? DecimalMath.round(a[i][i], mathContext) : BigDecimal.ZERO;
+            }
+        }
+        Matrix eigenvectors = Matrix.wrap(v, mathContext);
+        return new Diagonalization(eigenvectors, Matrix.wrap(d, mathContext), eigenvectors.transpose());
+    }
+
+    /**
+     * x * a - y * b, bounded
+     */
+    private static BigDecimal rotate(BigDecimal x, BigDecimal a, BigDecimal y, BigDecimal b, MathContext mc) {
+        return DecimalMath.subtractProduct(DecimalMath.limit(DecimalMath.multiply(x, a, mc), mc), y, b, mc);
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * The inner loops of the primitive backend: {@link DoubleMatrix} row operations and element-wise arithmetic,
+ * and the tiles of the {@link MultiplyKernels} product.
+ * <p>
+ * {@link #INSTANCE} is a SIMD implementation on the Java Vector API when the {@code jdk.incubator.vector} module
+ * is available (run with {@code --add-modules jdk.incubator.vector}), and this plain scalar implementation
+ * otherwise. The SIMD kernels round every lane exactly like these loops -- a multiply followed by an add, never
+ * a fused multiply-add -- so results are identical bit for bit whichever implementation runs.
+ */
+class DoubleKernels {
+    /**
+     * The kernels in use. Set the system property {@code matrix.vector} to {@code false} to force the scalar loops
+     */
+    static final DoubleKernels INSTANCE = load();
+
+    DoubleKernels() {
+    }
+
+    private static DoubleKernels load() {
+        if (!Boolean.parseBoolean(System.getProperty("matrix.vector", "true"))
+                || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return new DoubleKernels();
+        }
+        try {
+            // Loaded by name, so this class still compiles and runs wherever the incubator module is missing
+            return (DoubleKernels) Class.forName("VectorDoubleKernels").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new DoubleKernels();
+        }
+    }
+
+    /**
+     * Returns a short name for the implementation in use
+     *
+     * @return "scalar", or the vector shape
+     */
+    String name() {
+        return "scalar";
+    }
+
+    /**
+     * y[yOffset + i] += a * x[xOffset + i], for i in [0, length)
+     */
+    void axpy(double a, double[] x, int xOffset, double[] y, int yOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            y[yOffset + i] += a * x[xOffset + i];
+        }
+    }
+
+    /**
+     * x[offset + i] *= a, for i in [0, length)
+     */
+    void scale(double a, double[] x, int offset, int length) {
+        for (int i = 0; i < length; i++) {
+            x[offset + i] *= a;
+        }
+    }
+
+    /**
+     * out[i] = x[i] * a, over the whole of x
+     */
+    void scale(double a, double[] x, double[] out) {
+        for (int i = 0; i < x.length; i++) {
+            out[i] = x[i] * a;
+        }
+    }
+
+    /**
+     * out[i] = x[i] + y[i], over the whole of x
+     */
+    void add(double[] x, double[] y, double[] out) {
+        for (int i = 0; i < x.length; i++) {
+            out[i] = x[i] + y[i];
+        }
+    }
+
+    /**
+     * out[i] = x[i] - y[i], over the whole of x
+     */
+    void subtract(double[] x, double[] y, double[] out) {
+        for (int i = 0; i < x.length; i++) {
+            out[i] = x[i] - y[i];
+        }
+    }
+}
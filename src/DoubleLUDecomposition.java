@@ -0,0 +1,188 @@
+/**
+ * LU factorization with partial pivoting of a square {@link DoubleMatrix}: P * A = L * U.
+ * <p>
+ * L (unit lower triangular, diagonal not stored) and U are packed into a single row-major array.
+ * This is the double counterpart of {@link LUDecomposition}, and the fast inner solver of
+ * {@link Matrix#solveRefined(Matrix)}.
+ */
+public class DoubleLUDecomposition {
+    private final double[] lu;
+    private final int n;
+    private final int[] pivot;
+    private final int pivotSign;
+    private final boolean singular;
+
+    /**
+     * Factors the given row-major values; the array is copied and left untouched
+     *
+     * @param values The values of a square matrix, row-major
+     * @param n      The side length
+     */
+    DoubleLUDecomposition(double[] values, int n) {
+        if (n == 0 || values.length != n * n) {
+            throw new IllegalArgumentException("LU decomposition is only defined for square matrices");
+        }
+
+        this.n = n;
+        this.lu = values.clone();
+        this.pivot = new int[n];
+        for (int i = 0; i < n; i++) {
+            pivot[i] = i;
+        }
+
+        // Each pivot is measured against the largest entry of its original row, as in LUDecomposition
+        double[] rowScale = new double[n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                rowScale[i] = Math.max(rowScale[i], Math.abs(lu[i * n + j]));
+            }
+        }
+        double tolerance = n * Math.ulp(1.0);
+
+        int sign = 1;
+        boolean isSingular = false;
+        for (int k = 0; k < n; k++) {
+            // Pick the largest magnitude in the column as the pivot
+            int p = k;
+            double largest = Math.abs(lu[k * n + k]);
+            for (int i = k + 1; i < n; i++) {
+                double value = Math.abs(lu[i * n + k]);
+                if (value > largest) {
+                    largest = value;
+                    p = i;
+                }
+            }
+            if (p != k) {
+                for (int j = 0; j < n; j++) {
+                    double temp = lu[p * n + j];
+                    lu[p * n + j] = lu[k * n + j];
+                    lu[k * n + j] = temp;
+                }
+                int tempIndex = pivot[p];
+                pivot[p] = pivot[k];
+                pivot[k] = tempIndex;
+                double tempScale = rowScale[p];
+                rowScale[p] = rowScale[k];
+                rowScale[k] = tempScale;
+                sign = -sign;
+            }
+
+            double diagonal = lu[k * n + k];
+            // A pivot within the rounding error of its row is what is left of an exact zero
+            if (Math.abs(diagonal) <= tolerance * rowScale[k]) {
+                isSingular = true;
+                continue;
+            }
+
+            for (int i = k + 1; i < n; i++) {
+                if (lu[i * n + k] == 0) {
+                    continue;
+                }
+                double factor = lu[i * n + k] / diagonal;
+                lu[i * n + k] = factor;
+                DoubleKernels.INSTANCE.axpy(-factor, lu, k * n + k + 1, lu, i * n + k + 1, n - k - 1);
+            }
+        }
+
+        this.pivotSign = sign;
+        this.singular = isSingular;
+    }
+
+    //================================================================================================================//
+    //                                              Solving
+    //================================================================================================================//
+
+    /**
+     * Solves A * X = B for X
+     *
+     * @param b The right-hand side; must have as many rows as the factored matrix
+     * @return The solution X
+     */
+    public DoubleMatrix solve(DoubleMatrix b) {
+        if (b.rows() != n) {
+            throw new IllegalArgumentException("Cannot solve against a matrix with a different number of rows");
+        }
+        int m = b.columns();
+        double[] x = new double[n * m];
+        double[] column = new double[n];
+        for (int j = 0; j < m; j++) {
+            for (int i = 0; i < n; i++) {
+                column[i] = b.get(i, j);
+            }
+            this.solve(column, column);
+            for (int i = 0; i < n; i++) {
+                x[i * m + j] = column[i];
+            }
+        }
+        return new DoubleMatrix(n, m, x);
+    }
+
+    /**
+     * Solves A * x = b for a single vector. The two arrays may be the same array
+     *
+     * @param b The right-hand side, of length n
+     * @param x The output, of length n
+     */
+    public void solve(double[] b, double[] x) {
+        if (b.length != n || x.length != n) {
+            throw new IllegalArgumentException("Vector length does not match the factored matrix");
+        }
+        if (singular) {
+            throw new ArithmeticException("Matrix is singular");
+        }
+
+        // Forward substitution with L, applying the row permutation on the way in
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            double value = b[pivot[i]];
+            int row = i * n;
+            for (int k = 0; k < i; k++) {
+                value -= lu[row + k] * y[k];
+            }
+            y[i] = value;
+        }
+        // Back substitution with U
+        for (int i = n - 1; i >= 0; i--) {
+            double value = y[i];
+            int row = i * n;
+            for (int k = i + 1; k < n; k++) {
+                value -= lu[row + k] * y[k];
+            }
+            y[i] = value / lu[row + i];
+        }
+        System.arraycopy(y, 0, x, 0, n);
+    }
+
+    /**
+     * Returns the determinant of the factored matrix
+     *
+     * @return The determinant
+     */
+    public double determinant() {
+        if (singular) {
+            return 0;
+        }
+        double det = pivotSign;
+        for (int i = 0; i < n; i++) {
+            det *= lu[i * n + i];
+        }
+        return det;
+    }
+
+    //================================================================================================================//
+    //                                              Getters
+    //================================================================================================================//
+
+    public boolean isSingular() {
+        return singular;
+    }
+
+    /**
+     * Returns the row permutation; row i of P * A is row pivot[i] of A
+     *
+     * @return A copy of the permutation vector
+     */
+    public int[] pivot() {
+        return pivot.clone();
+    }
+}
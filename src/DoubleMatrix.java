@@ -0,0 +1,682 @@
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A dense matrix backed by a flat, row-major array of primitive doubles.
+ * Mirrors the API of {@link Matrix}, trading exact decimal arithmetic for IEEE-754 speed.
+ */
+public class DoubleMatrix implements LinearOperator {
+    private final double[] data;
+    private final int rows;
+    private final int columns;
+
+    //================================================================================================================//
+    //                                              Constructors
+    //================================================================================================================//
+    public DoubleMatrix(double[][] matrix) {
+        this.rows = matrix.length;
+        this.columns = matrix[0].length;
+        this.data = new double[rows * columns];
+        for (int i = 0; i < rows; i++) {
+            if (matrix[i].length != columns) {
+                throw new IllegalArgumentException("All rows must have the same length");
+            }
+            System.arraycopy(matrix[i], 0, this.data, i * columns, columns);
+        }
+    }
+
+    /**
+     * Creates a zero matrix with the given rows and columns
+     *
+     * @param rows    The number of rows
+     * @param columns The number of columns
+     */
+    public DoubleMatrix(int rows, int columns) {
+        this.rows = rows;
+        this.columns = columns;
+        this.data = new double[rows * columns];
+    }
+
+    /**
+     * Creates a matrix filled with the given value
+     *
+     * @param rows    The number of rows
+     * @param columns The number of columns
+     * @param value   The value
+     */
+    public DoubleMatrix(int rows, int columns, double value) {
+        this(rows, columns);
+        Arrays.fill(this.data, value);
+    }
+
+    /**
+     * Creates a primitive copy of a decimal matrix
+     *
+     * @param matrix The matrix to convert
+     */
+    public DoubleMatrix(Matrix matrix) {
+        this(matrix.rows(), matrix.columns());
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                this.data[i * columns + j] = matrix.get(i, j);
+            }
+        }
+    }
+
+    /**
+     * Wraps an existing row-major array without copying it
+     */
+    DoubleMatrix(int rows, int columns, double[] data) {
+        this.rows = rows;
+        this.columns = columns;
+        this.data = data;
+    }
+
+    //================================================================================================================//
+    //                                          Static Constructors
+    //================================================================================================================//
+
+    /**
+     * Creates an identity matrix of the given size
+     *
+     * @param n The size
+     * @return A new NxN identity matrix
+     */
+    public static DoubleMatrix identity(int n) {
+        DoubleMatrix matrix = new DoubleMatrix(n, n);
+        for (int i = 0; i < n; i++) {
+            matrix.data[i * n + i] = 1;
+        }
+        return matrix;
+    }
+
+    //================================================================================================================//
+    //                                       Matrix Manipulation Methods
+    //================================================================================================================//
+
+    /**
+     * Calculates the scaled matrix -- multiples each value in the matrix by the given value
+     *
+     * @param value The value
+     * @return The matrix scaled by the given value
+     */
+    public DoubleMatrix scale(double value) {
+        double[] result = new double[data.length];
+        DoubleKernels.INSTANCE.scale(value, data, result);
+        return new DoubleMatrix(rows, columns, result);
+    }
+
+    /**
+     * Adds two matrices, and returns a new matrix.
+     * Matrices must be of the same size
+     *
+     * @param other The other matrix to add
+     * @return The new summed matrix
+     */
+    public DoubleMatrix add(DoubleMatrix other) {
+        if (this.rows != other.rows || this.columns != other.columns) {
+            throw new IllegalArgumentException("Cannot add matrices of different sizes");
+        }
+        double[] result = new double[data.length];
+        DoubleKernels.INSTANCE.add(data, other.data, result);
+        return new DoubleMatrix(rows, columns, result);
+    }
+
+    /**
+     * Subtracts two matrices, and returns a new matrix.
+     * Matrices must be of the same size
+     *
+     * @param other The other matrix
+     * @return The new matrix with the subtracted values
+     */
+    public DoubleMatrix subtract(DoubleMatrix other) {
+        if (this.rows != other.rows || this.columns != other.columns) {
+            throw new IllegalArgumentException("Cannot subtract matrices of different sizes");
+        }
+        double[] result = new double[data.length];
+        DoubleKernels.INSTANCE.subtract(data, other.data, result);
+        return new DoubleMatrix(rows, columns, result);
+    }
+
+    /**
+     * Multiplies this matrix by another, and returns a new matrix.
+     * Uses a cache-blocked kernel, which is split across the common fork-join pool for large products
+     *
+     * @param other The right-hand matrix
+     * @return The product
+     */
+    public DoubleMatrix multiply(DoubleMatrix other) {
+        if (this.columns != other.rows) {
+            throw new IllegalArgumentException("Cannot multiply matrices of non compatible sizes\n" +
+                    "Expected other matrix to have " + this.columns + " rows\n");
+        }
+
+        double[] result = new double[this.rows * other.columns];
+        MultiplyKernels.multiply(this.data, other.data, result, this.rows, this.columns, other.columns);
+        return new DoubleMatrix(this.rows, other.columns, result);
+    }
+
+    //================================================================================================================//
+    //                                         In-Place Operations
+    //================================================================================================================//
+
+    /**
+     * Multiplies each value in this matrix by the given value, in place
+     *
+     * @param value The value
+     * @return This matrix
+     */
+    public DoubleMatrix scaleInPlace(double value) {
+        DoubleKernels.INSTANCE.scale(value, data, 0, data.length);
+        return this;
+    }
+
+    /**
+     * Adds another matrix onto this one, in place.
+     * Matrices must be of the same size
+     *
+     * @param other The other matrix to add
+     * @return This matrix
+     */
+    public DoubleMatrix addInPlace(DoubleMatrix other) {
+        if (this.rows != other.rows || this.columns != other.columns) {
+            throw new IllegalArgumentException("Cannot add matrices of different sizes");
+        }
+        DoubleKernels.INSTANCE.add(data, other.data, data);
+        return this;
+    }
+
+    /**
+     * Subtracts another matrix from this one, in place.
+     * Matrices must be of the same size
+     *
+     * @param other The other matrix
+     * @return This matrix
+     */
+    public DoubleMatrix subtractInPlace(DoubleMatrix other) {
+        if (this.rows != other.rows || this.columns != other.columns) {
+            throw new IllegalArgumentException("Cannot subtract matrices of different sizes");
+        }
+        DoubleKernels.INSTANCE.subtract(data, other.data, data);
+        return this;
+    }
+
+    /**
+     * Writes the product a * b into an existing matrix, overwriting every cell. Reuses the destination's storage
+     * instead of allocating a result; only the kernel's small task objects are allocated, and large products
+     * are still split across the common fork-join pool
+     *
+     * @param a    The left matrix
+     * @param b    The right matrix
+     * @param dest The destination, with a's rows and b's columns; must not share storage with a or b.
+     *             Passing a or b itself is rejected, but no other overlap is detected
+     * @return The destination
+     */
+    public static DoubleMatrix multiplyInto(DoubleMatrix a, DoubleMatrix b, DoubleMatrix dest) {
+        if (a.columns != b.rows) {
+            throw new IllegalArgumentException("Cannot multiply matrices of non compatible sizes\n" +
+                    "Expected other matrix to have " + a.columns + " rows\n");
+        }
+        if (dest.rows != a.rows || dest.columns != b.columns) {
+            throw new IllegalArgumentException("Destination must have " + a.rows + " rows and "
+                    + b.columns + " columns");
+        }
+        if (dest.data == a.data || dest.data == b.data) {
+            throw new IllegalArgumentException("Destination cannot be one of the factors");
+        }
+        Arrays.fill(dest.data, 0);
+        MultiplyKernels.multiply(a.data, b.data, dest.data, a.rows, a.columns, b.columns);
+        return dest;
+    }
+
+    /**
+     * Multiplies this matrix by a vector
+     *
+     * @param x The input vector, one entry per column
+     * @param y The output vector, one entry per row; overwritten
+     */
+    @Override
+    public void apply(double[] x, double[] y) {
+        for (int i = 0; i < rows; i++) {
+            int offset = i * columns;
+            double sum = 0;
+            for (int j = 0; j < columns; j++) {
+                sum += data[offset + j] * x[j];
+            }
+            y[i] = sum;
+        }
+    }
+
+    public DoubleMatrix transpose() {
+        double[] result = new double[data.length];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                result[j * rows + i] = data[i * columns + j];
+            }
+        }
+        return new DoubleMatrix(columns, rows, result);
+    }
+
+    /**
+     * Reduces the matrix into row echelon form, using partial pivoting.
+     * Preforms the same operations onto the other matrix
+     *
+     * @param otherMatrix The other matrix to perform the operations upon
+     * @return The reduced matrix and the other matrix
+     */
+    public DoubleMatrix[] reduce(DoubleMatrix otherMatrix) {
+        DoubleMatrix matrix = this.copy();
+        DoubleMatrix other = otherMatrix != null ? otherMatrix.copy() : new DoubleMatrix(this.rows, 1);
+
+        if (this.rows != other.rows) {
+            throw new IllegalArgumentException("Cannot reduce matrices of different row sizes");
+        }
+
+        matrix.eliminate(other, false);
+        return new DoubleMatrix[]{matrix, otherMatrix != null ? other : null};
+    }
+
+    public DoubleMatrix[] reducedRowEchelonForm(DoubleMatrix otherMatrix) {
+        DoubleMatrix matrix = this.copy();
+        DoubleMatrix other = otherMatrix != null ? otherMatrix.copy() : new DoubleMatrix(this.rows, 1);
+
+        if (this.rows != other.rows) {
+            throw new IllegalArgumentException("Cannot reduce matrices of different row sizes");
+        }
+
+        matrix.eliminate(other, true);
+        return new DoubleMatrix[]{matrix, otherMatrix != null ? other : null};
+    }
+
+    /**
+     * Solves this * X = other for X. Square matrices are solved through {@link #lu()}; anything else falls back to
+     * row reduction
+     *
+     * @param other The right-hand side
+     * @return The solution X
+     * @throws ArithmeticException If the matrix is square and singular
+     */
+    public DoubleMatrix solve(DoubleMatrix other) {
+        if (this.isSquare()) {
+            return this.lu().solve(other);
+        }
+        return this.reducedRowEchelonForm(other)[1];
+    }
+
+    /**
+     * Factors the matrix into P * A = L * U, using partial pivoting.
+     * The decomposition can be reused to solve against many right-hand sides
+     *
+     * @return The LU decomposition
+     */
+    public DoubleLUDecomposition lu() {
+        if (!this.isSquare()) {
+            throw new IllegalArgumentException("LU decomposition is only defined for square matrices");
+        }
+        return new DoubleLUDecomposition(data, rows);
+    }
+
+    /**
+     * Solves many independent n x n systems packed back to back in flat arrays, spread across the common
+     * fork-join pool. Each worker reuses one scratch system for its whole share of the batch, so per-system
+     * overhead is a copy of the coefficients and nothing else.
+     * <p>
+     * Like {@link Matrix#solveAll(java.util.List, java.util.List)} and {@link Solver#findPolynomials(double[][][])},
+     * a system that cannot be solved does not abort the batch: it has no solution in its slot, which packed doubles
+     * mark as all NaN.
+     * Singularity is judged as {@link #lu()} judges it
+     *
+     * @param systems        count * n * n coefficients; system s is row-major at offset s * n * n
+     * @param rightHandSides count * n values; the right-hand side of system s is at offset s * n
+     * @param n              The side length of every system
+     * @return count * n solutions, packed like the right-hand sides. A singular system's solution is all NaN
+     */
+    public static double[] solveAll(double[] systems, double[] rightHandSides, int n) {
+        if (n <= 0 || rightHandSides.length % n != 0 || systems.length != rightHandSides.length * n) {
+            throw new IllegalArgumentException("Expected " + n + " * " + n + " coefficients per " + n + " values");
+        }
+        int count = rightHandSides.length / n;
+        double[] solutions = new double[rightHandSides.length];
+
+        MultiplyKernels.RowRange band = (from, to) -> {
+            double[] a = new double[n * n];
+            double[] x = new double[n];
+            for (int s = from; s < to; s++) {
+                System.arraycopy(systems, s * n * n, a, 0, n * n);
+                System.arraycopy(rightHandSides, s * n, x, 0, n);
+                if (!solveInPlace(a, x, n)) {
+                    Arrays.fill(x, Double.NaN);
+                }
+                System.arraycopy(x, 0, solutions, s * n, n);
+            }
+        };
+        long work = (long) count * n * n * n;
+        if (work < MultiplyKernels.DOUBLE_PARALLEL_THRESHOLD) {
+            band.run(0, count);
+        } else {
+            int grain = Math.max(1, count / (ForkJoinPool.getCommonPoolParallelism() * 8));
+            ForkJoinPool.commonPool().invoke(new MultiplyKernels.RowTask(band, 0, count, grain));
+        }
+        return solutions;
+    }
+
+    /**
+     * Gaussian elimination with partial pivoting on a * x = b, overwriting both; b becomes the solution
+     *
+     * @return False if the system is singular
+     */
+    private static boolean solveInPlace(double[] a, double[] b, int n) {
+        // Each pivot is measured against the largest entry of its original row, as in DoubleLUDecomposition
+        double[] rowScale = new double[n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                rowScale[i] = Math.max(rowScale[i], Math.abs(a[i * n + j]));
+            }
+        }
+        double tolerance = n * Math.ulp(1.0);
+
+        for (int k = 0; k < n; k++) {
+            int pivot = pivotRow(a, n, k, k);
+            if (Math.abs(a[pivot * n + k]) <= tolerance * rowScale[pivot]) {
+                return false;
+            }
+            if (pivot != k) {
+                swapRows(a, n, k, pivot);
+                double temp = b[k];
+                b[k] = b[pivot];
+                b[pivot] = temp;
+                temp = rowScale[k];
+                rowScale[k] = rowScale[pivot];
+                rowScale[pivot] = temp;
+            }
+            double diagonal = a[k * n + k];
+            for (int i = k + 1; i < n; i++) {
+                double factor = a[i * n + k] / diagonal;
+                if (factor == 0) {
+                    continue;
+                }
+                DoubleKernels.INSTANCE.axpy(-factor, a, k * n + k + 1, a, i * n + k + 1, n - k - 1);
+                b[i] -= factor * b[k];
+            }
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            double value = b[i];
+            for (int j = i + 1; j < n; j++) {
+                value -= a[i * n + j] * b[j];
+            }
+            b[i] = value / a[i * n + i];
+        }
+        return true;
+    }
+
+    /**
+     * Returns the determinant of the matrix
+     *
+     * @return The determinant
+     */
+    public double determinant() {
+        if (!this.isSquare()) {
+            throw new IllegalArgumentException("Determinant is only defined for square matrices");
+        }
+
+        double[] a = data.clone();
+        int n = rows;
+        double det = 1;
+
+        for (int i = 0; i < n; i++) {
+            int pivot = pivotRow(a, n, i, i);
+            if (a[pivot * n + i] == 0) {
+                return 0;
+            }
+            if (pivot != i) {
+                swapRows(a, n, i, pivot);
+                det = -det;
+            }
+
+            double diagonal = a[i * n + i];
+            det *= diagonal;
+            for (int j = i + 1; j < n; j++) {
+                double factor = a[j * n + i] / diagonal;
+                if (factor != 0) {
+                    addRows(a, n, j, i, -factor);
+                }
+            }
+        }
+        return det;
+    }
+
+    /**
+     * Returns the inverse, through {@link #lu()}
+     *
+     * @return The inverse
+     * @throws ArithmeticException If the matrix is singular
+     */
+    public DoubleMatrix inverse() {
+        return this.lu().solve(DoubleMatrix.identity(this.rows));
+    }
+
+    /**
+     * Gauss(-Jordan) elimination with partial pivoting, performed in place on this matrix and the other matrix.
+     * Every pivot row is scaled so the pivot is 1
+     *
+     * @param other  The matrix to perform the same row operations upon
+     * @param jordan Whether to also clear the entries above each pivot
+     */
+    private void eliminate(DoubleMatrix other, boolean jordan) {
+        int pivotRow = 0;
+        for (int column = 0; column < columns && pivotRow < rows; column++) {
+            int pivot = pivotRow(data, columns, pivotRow, column);
+            if (data[pivot * columns + column] == 0) {
+                continue;
+            }
+            swapRows(data, columns, pivotRow, pivot);
+            swapRows(other.data, other.columns, pivotRow, pivot);
+
+            double multValue = 1 / data[pivotRow * columns + column];
+            multiplyRow(data, columns, pivotRow, multValue);
+            multiplyRow(other.data, other.columns, pivotRow, multValue);
+            data[pivotRow * columns + column] = 1;
+
+            for (int row = jordan ? 0 : pivotRow + 1; row < rows; row++) {
+                double factor = data[row * columns + column];
+                if (row == pivotRow || factor == 0) {
+                    continue;
+                }
+                addRows(data, columns, row, pivotRow, -factor);
+                addRows(other.data, other.columns, row, pivotRow, -factor);
+                data[row * columns + column] = 0;
+            }
+            pivotRow++;
+        }
+    }
+
+    //================================================================================================================//
+    //                                     Elementary Row Operations
+    //================================================================================================================//
+
+    /**
+     * Finds the row at or below the given row with the largest magnitude in the given column
+     */
+    private static int pivotRow(double[] a, int stride, int fromRow, int column) {
+        int pivot = fromRow;
+        double largest = Math.abs(a[fromRow * stride + column]);
+        for (int row = fromRow + 1; row < a.length / stride; row++) {
+            double value = Math.abs(a[row * stride + column]);
+            if (value > largest) {
+                largest = value;
+                pivot = row;
+            }
+        }
+        return pivot;
+    }
+
+    private static void swapRows(double[] a, int stride, int row1, int row2) {
+        if (row1 == row2) {
+            return;
+        }
+        int offset1 = row1 * stride;
+        int offset2 = row2 * stride;
+        for (int i = 0; i < stride; i++) {
+            double temp = a[offset1 + i];
+            a[offset1 + i] = a[offset2 + i];
+            a[offset2 + i] = temp;
+        }
+    }
+
+    private static void multiplyRow(double[] a, int stride, int row, double value) {
+        DoubleKernels.INSTANCE.scale(value, a, row * stride, stride);
+    }
+
+    /**
+     * Adds the multiple of rowB onto rowA
+     */
+    private static void addRows(double[] a, int stride, int rowA, int rowB, double value) {
+        DoubleKernels.INSTANCE.axpy(value, a, rowB * stride, a, rowA * stride, stride);
+    }
+
+    //================================================================================================================//
+    //                                       Matrix Access Methods
+    //================================================================================================================//
+
+    /**
+     * Returns the value at the given row and column
+     *
+     * @param row    The row
+     * @param column The column
+     * @return The value
+     */
+    public double get(int row, int column) {
+        return data[index(row, column)];
+    }
+
+    /**
+     * Sets the value at the given row and column
+     *
+     * @param row    The row
+     * @param column The column
+     * @param value  The value
+     */
+    public void set(int row, int column, double value) {
+        data[index(row, column)] = value;
+    }
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int columns() {
+        return columns;
+    }
+
+    @Override
+    public double[] diagonal() {
+        double[] diagonal = new double[Math.min(rows, columns)];
+        for (int i = 0; i < diagonal.length; i++) {
+            diagonal[i] = data[i * columns + i];
+        }
+        return diagonal;
+    }
+
+    /**
+     * Returns the backing row-major array itself, not a copy
+     */
+    double[] data() {
+        return data;
+    }
+
+    private int index(int row, int column) {
+        if (row < 0 || row >= rows || column < 0 || column >= columns) {
+            throw new IndexOutOfBoundsException("Invalid position (" + row + ", " + column + ")");
+        }
+        return row * columns + column;
+    }
+
+    //================================================================================================================//
+    //                                      Getters and Setters (MISC)
+    //================================================================================================================//
+
+    /**
+     * Returns the size of the matrix
+     *
+     * @return The size as a two-element int array -> [rows, columns]
+     */
+    public int[] size() {
+        return new int[]{rows, columns};
+    }
+
+    public boolean isSquare() {
+        return rows == columns;
+    }
+
+    //================================================================================================================//
+    //                                           Utility Methods
+    //================================================================================================================//
+
+    /**
+     * Converts this matrix into a decimal matrix
+     *
+     * @return A new {@link Matrix} holding the same values
+     */
+    public Matrix toMatrix() {
+        BigDecimal[][] values = new BigDecimal[rows][columns];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                values[i][j] = BigDecimal.valueOf(data[i * columns + j]);
+            }
+        }
+        return new Matrix(values);
+    }
+
+    /**
+     * Returns a copy of the values as a two-dimensional array
+     *
+     * @return The values, row by row
+     */
+    public double[][] toArray() {
+        double[][] result = new double[rows][];
+        for (int i = 0; i < rows; i++) {
+            result[i] = Arrays.copyOfRange(data, i * columns, (i + 1) * columns);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        String[][] stringMatrix = new String[rows][columns];
+        int[] columnLongest = new int[columns];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                stringMatrix[i][j] = String.valueOf(data[i * columns + j]);
+                columnLongest[j] = Math.max(columnLongest[j], stringMatrix[i][j].length());
+            }
+        }
+
+        StringBuilder builder = new StringBuilder();
+        for (String[] row : stringMatrix) {
+            for (int j = 0; j < row.length; j++) {
+                row[j] = String.format("%" + columnLongest[j] + "s", row[j]);
+            }
+            builder.append(Arrays.toString(row)).append("\n");
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        DoubleMatrix matrix = (DoubleMatrix) o;
+        return rows == matrix.rows && columns == matrix.columns && Arrays.equals(data, matrix.data);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * rows + columns) + Arrays.hashCode(data);
+    }
+
+    public DoubleMatrix copy() {
+        return new DoubleMatrix(rows, columns, data.clone());
+    }
+}
@@ -0,0 +1,29 @@
+import java.math.BigDecimal;
+
+/**
+ * A factorization of a square {@link Matrix} that can be reused for many solves.
+ * {@link Matrix} picks the cheapest one that applies, and caches it until the matrix changes
+ */
+interface Factorization {
+    /**
+     * Solves A * X = B for X
+     *
+     * @param b The right-hand side; must have as many rows as the factored matrix
+     * @return The solution X
+     */
+    Matrix solve(Matrix b);
+
+    /**
+     * Returns the determinant of the factored matrix
+     *
+     * @return The determinant (BigDecimal)
+     */
+    BigDecimal determinant();
+
+    /**
+     * Returns the inverse of the factored matrix
+     *
+     * @return The inverse
+     */
+    Matrix inverse();
+}
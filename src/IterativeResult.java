@@ -0,0 +1,62 @@
+/**
+ * The outcome of an {@link IterativeSolver} run
+ */
+public class IterativeResult {
+    private final double[] solution;
+    private final int iterations;
+    private final boolean converged;
+    private final double[] residualHistory;
+
+    IterativeResult(double[] solution, int iterations, boolean converged, double[] residualHistory) {
+        this.solution = solution;
+        this.iterations = iterations;
+        this.converged = converged;
+        this.residualHistory = residualHistory;
+    }
+
+    /**
+     * Returns the last iterate, whether or not it converged
+     *
+     * @return The solution vector
+     */
+    public double[] solution() {
+        return solution;
+    }
+
+    public int iterations() {
+        return iterations;
+    }
+
+    /**
+     * Checks if the relative residual dropped below the tolerance within the iteration limit
+     *
+     * @return True if the solver converged
+     */
+    public boolean converged() {
+        return converged;
+    }
+
+    /**
+     * Returns the final relative residual ||b - A * x|| / ||b||
+     *
+     * @return The relative residual
+     */
+    public double residual() {
+        return residualHistory[residualHistory.length - 1];
+    }
+
+    /**
+     * Returns the relative residual before the first iteration and after each iteration
+     *
+     * @return The residual history, iterations() + 1 entries
+     */
+    public double[] residualHistory() {
+        return residualHistory.clone();
+    }
+
+    @Override
+    public String toString() {
+        return (converged ? "Converged" : "Did not converge") + " after " + iterations
+                + " iterations, relative residual " + this.residual();
+    }
+}
@@ -0,0 +1,296 @@
+import java.util.Arrays;
+
+/**
+ * Iterative solvers for A * x = b on large, typically sparse, systems.
+ * <p>
+ * Each iteration costs one or two matrix-vector products plus O(n) vector work, so memory stays at
+ * O(nonzeros + n) instead of the O(n^2) of a dense elimination. Iteration stops once the relative residual
+ * ||b - A * x|| / ||b|| is at or below the tolerance, or after the maximum number of iterations.
+ */
+public class IterativeSolver {
+    private final double tolerance;
+    private final int maxIterations;
+
+    /**
+     * @param tolerance     The relative residual to stop at
+     * @param maxIterations The maximum number of iterations
+     */
+    public IterativeSolver(double tolerance, int maxIterations) {
+        if (tolerance <= 0) {
+            throw new IllegalArgumentException("Tolerance must be positive");
+        }
+        if (maxIterations < 1) {
+            throw new IllegalArgumentException("Maximum iterations must be positive");
+        }
+        this.tolerance = tolerance;
+        this.maxIterations = maxIterations;
+    }
+
+    //================================================================================================================//
+    //                                          Conjugate Gradient
+    //================================================================================================================//
+
+    public IterativeResult conjugateGradient(LinearOperator a, double[] b) {
+        return this.conjugateGradient(a, b, Preconditioner.identity());
+    }
+
+    /**
+     * Preconditioned conjugate gradient. A (and the preconditioner) must be symmetric positive definite
+     *
+     * @param a              The matrix
+     * @param b              The right-hand side
+     * @param preconditioner The preconditioner
+     * @return The result
+     */
+    public IterativeResult conjugateGradient(LinearOperator a, double[] b, Preconditioner preconditioner) {
+        int n = checkSystem(a, b);
+        double bNorm = normOrOne(b);
+
+        double[] x = new double[n];
+        double[] r = b.clone();
+        double[] z = new double[n];
+        double[] ap = new double[n];
+        ResidualHistory history = new ResidualHistory();
+        history.add(norm(r) / bNorm);
+        if (history.last() <= tolerance) {
+            return new IterativeResult(x, 0, true, history.toArray());
+        }
+
+        preconditioner.apply(r, z);
+        double[] p = z.clone();
+        double rz = dot(r, z);
+
+        for (int iteration = 1; iteration <= maxIterations; iteration++) {
+            a.apply(p, ap);
+            double pAp = dot(p, ap);
+            if (pAp == 0) {
+                return new IterativeResult(x, iteration - 1, false, history.toArray());
+            }
+            double alpha = rz / pAp;
+            axpy(alpha, p, x);
+            axpy(-alpha, ap, r);
+
+            history.add(norm(r) / bNorm);
+            if (history.last() <= tolerance) {
+                return new IterativeResult(x, iteration, true, history.toArray());
+            }
+
+            preconditioner.apply(r, z);
+            double rzNext = dot(r, z);
+            double beta = rzNext / rz;
+            rz = rzNext;
+            for (int i = 0; i < n; i++) {
+                p[i] = z[i] + beta * p[i];
+            }
+        }
+        return new IterativeResult(x, maxIterations, false, history.toArray());
+    }
+
+    //================================================================================================================//
+    //                                               BiCGSTAB
+    //================================================================================================================//
+
+    public IterativeResult biCgStab(LinearOperator a, double[] b) {
+        return this.biCgStab(a, b, Preconditioner.identity());
+    }
+
+    /**
+     * Right-preconditioned BiCGSTAB, for general (non-symmetric) matrices
+     *
+     * @param a              The matrix
+     * @param b              The right-hand side
+     * @param preconditioner The preconditioner
+     * @return The result
+     */
+    public IterativeResult biCgStab(LinearOperator a, double[] b, Preconditioner preconditioner) {
+        int n = checkSystem(a, b);
+        double bNorm = normOrOne(b);
+
+        double[] x = new double[n];
+        double[] r = b.clone();
+        double[] rHat = r.clone();
+        double[] p = new double[n];
+        double[] v = new double[n];
+        double[] s = new double[n];
+        double[] t = new double[n];
+        double[] pHat = new double[n];
+        double[] sHat = new double[n];
+        ResidualHistory history = new ResidualHistory();
+        history.add(norm(r) / bNorm);
+        if (history.last() <= tolerance) {
+            return new IterativeResult(x, 0, true, history.toArray());
+        }
+
+        double rho = 1;
+        double alpha = 1;
+        double omega = 1;
+        for (int iteration = 1; iteration <= maxIterations; iteration++) {
+            double rhoNext = dot(rHat, r);
+            if (rhoNext == 0 || omega == 0) {
+                // Breakdown; the last iterate is the best we have
+                return new IterativeResult(x, iteration - 1, false, history.toArray());
+            }
+            double beta = (rhoNext / rho) * (alpha / omega);
+            rho = rhoNext;
+            for (int i = 0; i < n; i++) {
+                p[i] = r[i] + beta * (p[i] - omega * v[i]);
+            }
+
+            preconditioner.apply(p, pHat);
+            a.apply(pHat, v);
+            alpha = rho / dot(rHat, v);
+            for (int i = 0; i < n; i++) {
+                s[i] = r[i] - alpha * v[i];
+            }
+
+            double sNorm = norm(s) / bNorm;
+            if (sNorm <= tolerance) {
+                axpy(alpha, pHat, x);
+                history.add(sNorm);
+                return new IterativeResult(x, iteration, true, history.toArray());
+            }
+
+            preconditioner.apply(s, sHat);
+            a.apply(sHat, t);
+            double tt = dot(t, t);
+            omega = tt == 0 ? 0 : dot(t, s) / tt;
+            for (int i = 0; i < n; i++) {
+                x[i] += alpha * pHat[i] + omega * sHat[i];
+                r[i] = s[i] - omega * t[i];
+            }
+
+            history.add(norm(r) / bNorm);
+            if (history.last() <= tolerance) {
+                return new IterativeResult(x, iteration, true, history.toArray());
+            }
+        }
+        return new IterativeResult(x, maxIterations, false, history.toArray());
+    }
+
+    //================================================================================================================//
+    //                                             Gauss-Seidel
+    //================================================================================================================//
+
+    /**
+     * Gauss-Seidel sweeps, updating each unknown in place from the latest values of the others.
+     * Converges for strictly diagonally dominant or symmetric positive definite matrices.
+     * Works on the rows directly, so it needs a {@link SparseMatrix}; wrap a dense matrix with
+     * {@link SparseMatrix#SparseMatrix(DoubleMatrix)} to use it there
+     *
+     * @param a The square matrix
+     * @param b The right-hand side
+     * @return The result
+     */
+    public IterativeResult gaussSeidel(SparseMatrix a, double[] b) {
+        int n = checkSystem(a, b);
+        double bNorm = normOrOne(b);
+        int[] rowPointers = a.rowPointers();
+        int[] columnIndices = a.columnIndices();
+        double[] values = a.values();
+
+        double[] x = new double[n];
+        double[] ax = new double[n];
+        ResidualHistory history = new ResidualHistory();
+        history.add(norm(b) / bNorm);
+        if (history.last() <= tolerance) {
+            return new IterativeResult(x, 0, true, history.toArray());
+        }
+
+        for (int iteration = 1; iteration <= maxIterations; iteration++) {
+            for (int i = 0; i < n; i++) {
+                double sum = b[i];
+                double diagonal = 0;
+                for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                    int j = columnIndices[p];
+                    if (j == i) {
+                        diagonal = values[p];
+                    } else {
+                        sum -= values[p] * x[j];
+                    }
+                }
+                if (diagonal == 0) {
+                    throw new ArithmeticException("Gauss-Seidel requires a nonzero diagonal");
+                }
+                x[i] = sum / diagonal;
+            }
+
+            a.apply(x, ax);
+            double residual = 0;
+            for (int i = 0; i < n; i++) {
+                double difference = b[i] - ax[i];
+                residual += difference * difference;
+            }
+            history.add(Math.sqrt(residual) / bNorm);
+            if (history.last() <= tolerance) {
+                return new IterativeResult(x, iteration, true, history.toArray());
+            }
+        }
+        return new IterativeResult(x, maxIterations, false, history.toArray());
+    }
+
+    //================================================================================================================//
+    //                                           Vector Utilities
+    //================================================================================================================//
+
+    private static int checkSystem(LinearOperator a, double[] b) {
+        if (a.rows() != a.columns()) {
+            throw new IllegalArgumentException("Iterative solvers require a square matrix");
+        }
+        if (b.length != a.rows()) {
+            throw new IllegalArgumentException("Expected a right-hand side with " + a.rows() + " entries");
+        }
+        return b.length;
+    }
+
+    private static double dot(double[] x, double[] y) {
+        double sum = 0;
+        for (int i = 0; i < x.length; i++) {
+            sum += x[i] * y[i];
+        }
+        return sum;
+    }
+
+    private static double norm(double[] x) {
+        return Math.sqrt(dot(x, x));
+    }
+
+    /**
+     * A zero right-hand side is measured in absolute terms instead
+     */
+    private static double normOrOne(double[] b) {
+        double norm = norm(b);
+        return norm == 0 ? 1 : norm;
+    }
+
+    /**
+     * y += alpha * x
+     */
+    private static void axpy(double alpha, double[] x, double[] y) {
+        for (int i = 0; i < x.length; i++) {
+            y[i] += alpha * x[i];
+        }
+    }
+
+    /**
+     * The relative residual after each iteration, grown as iterations run so a generous iteration cap costs nothing
+     */
+    private static final class ResidualHistory {
+        private double[] values = new double[16];
+        private int size;
+
+        void add(double residual) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = residual;
+        }
+
+        double last() {
+            return values[size - 1];
+        }
+
+        double[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
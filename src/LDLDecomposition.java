@@ -0,0 +1,216 @@
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * LDL^T factorization of a symmetric matrix with symmetric pivoting: P * A * P^T = L * D * L^T.
+ * <p>
+ * Unlike {@link CholeskyDecomposition} this needs no square roots and accepts indefinite matrices. Only the lower
+ * triangle is read and stored, and factoring takes about n^3 / 6 multiply-adds. Each step pivots on the largest
+ * remaining diagonal. There are no 2x2 pivots, so when that diagonal is zero -- as in [[0, 1], [1, 0]] -- or
+ * too small next to the rest of its column to bound element growth, the factorization breaks down instead.
+ * {@link #hasBrokenDown()} reports this so callers can fall back to {@link LUDecomposition}.
+ */
+public class LDLDecomposition implements Factorization {
+    /**
+     * The Bunch-Kaufman constant (1 + sqrt(17)) / 8: a diagonal pivot at least this large relative to the rest
+     * of its column keeps every entry of L within 1 / 0.64
+     */
+    private static final BigDecimal GROWTH_BOUND = new BigDecimal("0.6404");
+
+    /**
+     * Row i holds L[i][0..i - 1]; the unit diagonal is not stored
+     */
+    private final BigDecimal[][] lower;
+    private final BigDecimal[] diagonal;
+    private final int[] pivot;
+    private final boolean brokenDown;
+    private final MathContext mathContext;
+
+    /**
+     * Factors the lower triangle of the given values, which are left untouched
+     *
+     * @param values      A square array of values, assumed symmetric
+     * @param mathContext The precision of every step, or null for the default behaviour of {@link Matrix}
+     */
+    LDLDecomposition(BigDecimal[][] values, MathContext mathContext) {
+        int n = values.length;
+        if (n == 0 || values[0].length != n) {
+            throw new IllegalArgumentException("LDL decomposition is only defined for square matrices");
+        }
+
+        this.mathContext = mathContext;
+        this.lower = new BigDecimal[n][];
+        this.diagonal = new BigDecimal[n];
+        this.pivot = new int[n];
+        // The diagonal each remaining row would get if it were picked next
+        BigDecimal[] remaining = new BigDecimal[n];
+        for (int i = 0; i < n; i++) {
+            lower[i] = new BigDecimal[i];
+            pivot[i] = i;
+            remaining[i] = values[i][i];
+        }
+
+        boolean isBrokenDown = false;
+        for (int k = 0; k < n; k++) {
+            // Pick the largest remaining diagonal as the pivot
+            int p = k;
+            for (int i = k + 1; i < n; i++) {
+                if (remaining[i].abs().compareTo(remaining[p].abs()) > 0) {
+                    p = i;
+                }
+            }
+            if (p != k) {
+                int tempIndex = pivot[p];
+                pivot[p] = pivot[k];
+                pivot[k] = tempIndex;
+                BigDecimal temp = remaining[p];
+                remaining[p] = remaining[k];
+                remaining[k] = temp;
+                for (int m = 0; m < k; m++) {
+                    temp = lower[p][m];
+                    lower[p][m] = lower[k][m];
+                    lower[k][m] = temp;
+                }
+            }
+
+            if (DecimalMath.isNegligible(remaining[k], DecimalMath.largest(values[pivot[k]]), mathContext)) {
+                isBrokenDown = true;
+                break;
+            }
+            diagonal[k] = remaining[k];
+
+            // Column k of D * L^T below the diagonal, from the columns left of it
+            BigDecimal[] scaled = new BigDecimal[k];
+            for (int m = 0; m < k; m++) {
+                scaled[m] = DecimalMath.multiply(diagonal[m], lower[k][m], mathContext);
+            }
+            BigDecimal[] column = new BigDecimal[n];
+            BigDecimal largest = BigDecimal.ZERO;
+            for (int i = k + 1; i < n; i++) {
+                BigDecimal value = symmetric(values, pivot[i], pivot[k]);
+                for (int m = 0; m < k; m++) {
+                    value = DecimalMath.subtractProduct(value, lower[i][m], scaled[m], mathContext);
+                }
+                column[i] = value;
+                largest = largest.max(value.abs());
+            }
+            // A diagonal pivot this small next to its column would let the entries of L, and the rounding error
+            // they carry, grow without bound; Bunch-Kaufman would switch to a 2x2 pivot here
+            if (diagonal[k].abs().compareTo(GROWTH_BOUND.multiply(largest)) < 0) {
+                isBrokenDown = true;
+                break;
+            }
+            for (int i = k + 1; i < n; i++) {
+                BigDecimal factor = DecimalMath.divide(column[i], diagonal[k], mathContext);
+                lower[i][k] = factor;
+                remaining[i] = DecimalMath.subtractProduct(remaining[i], factor, column[i], mathContext);
+            }
+        }
+        this.brokenDown = isBrokenDown;
+    }
+
+    /**
+     * Reads A[i][j] from the lower triangle
+     */
+    private static BigDecimal symmetric(BigDecimal[][] values, int i, int j) {
+        return i >= j ? values[i][j] : values[j][i];
+    }
+
+    //================================================================================================================//
+    //                                              Solving
+    //================================================================================================================//
+
+    @Override
+    public Matrix solve(Matrix b) {
+        int n = lower.length;
+        if (b.rows() != n) {
+            throw new IllegalArgumentException("Cannot solve against a matrix with a different number of rows");
+        }
+        if (brokenDown) {
+            throw new ArithmeticException("LDL decomposition broke down on a zero or unstable pivot");
+        }
+
+        BigDecimal[] y = new BigDecimal[n];
+        BigDecimal[][] x = new BigDecimal[n][b.columns()];
+        for (int column = 0; column < b.columns(); column++) {
+            // Forward substitution with L, applying the permutation on the way in
+            for (int i = 0; i < n; i++) {
+                BigDecimal value = b.getBigDecimal(pivot[i], column);
+                for (int k = 0; k < i; k++) {
+                    value = DecimalMath.subtractProduct(value, lower[i][k], y[k], mathContext);
+                }
+                y[i] = value;
+            }
+            for (int i = 0; i < n; i++) {
+                y[i] = DecimalMath.divide(y[i], diagonal[i], mathContext);
+            }
+            // Back substitution with L^T, undoing the permutation on the way out
+            for (int i = n - 1; i >= 0; i--) {
+                BigDecimal value = y[i];
+                for (int k = i + 1; k < n; k++) {
+                    value = DecimalMath.subtractProduct(value, lower[k][i], y[k], mathContext);
+                }
+                y[i] = value;
+                x[pivot[i]][column] = DecimalMath.round(value, mathContext);
+            }
+        }
+        return Matrix.wrap(x, mathContext);
+    }
+
+    /**
+     * Returns the determinant of the factored matrix, the product of D; the symmetric permutation cancels out
+     *
+     * @return The determinant (BigDecimal)
+     */
+    @Override
+    public BigDecimal determinant() {
+        if (brokenDown) {
+            throw new ArithmeticException("LDL decomposition broke down on a zero or unstable pivot");
+        }
+        BigDecimal det = BigDecimal.ONE;
+        for (BigDecimal value : diagonal) {
+            det = DecimalMath.multiply(det, value, mathContext);
+        }
+        return DecimalMath.round(det, mathContext);
+    }
+
+    @Override
+    public Matrix inverse() {
+        return this.solve(Matrix.identity(lower.length));
+    }
+
+    //================================================================================================================//
+    //                                              Getters
+    //================================================================================================================//
+
+    /**
+     * Checks if the factorization broke down on a zero or unstable pivot. The matrix may be singular, or still
+     * invertible through a factorization that pivots on rows alone
+     *
+     * @return True if no stable pivot could be found
+     */
+    public boolean hasBrokenDown() {
+        return brokenDown;
+    }
+
+    /**
+     * Returns the diagonal of D, in pivoted order
+     *
+     * @return A copy of the diagonal
+     */
+    public BigDecimal[] diagonalValues() {
+        if (brokenDown) {
+            throw new ArithmeticException("LDL decomposition broke down on a zero or unstable pivot");
+        }
+        return diagonal.clone();
+    }
+
+    /**
+     * Returns the symmetric permutation; row and column i of P * A * P^T are row and column pivot[i] of A
+     *
+     * @return A copy of the permutation vector
+     */
+    public int[] pivot() {
+        return pivot.clone();
+    }
+}
@@ -0,0 +1,287 @@
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * LU factorization with partial pivoting of a square matrix: P * A = L * U.
+ * <p>
+ * L (unit lower triangular, diagonal not stored) and U are packed into a single array.
+ * Factoring costs O(n^3) once, after which every {@link #solve(Matrix)} costs O(n^2) per right-hand column.
+ */
+public class LUDecomposition implements Factorization {
+    /**
+     * Magnitudes only need to be right to within a factor of ten or so
+     */
+    private static final MathContext MAGNITUDE = new MathContext(3);
+
+    private final BigDecimal[][] lu;
+    private final int[] pivot;
+    private final int pivotSign;
+    private final boolean singular;
+    private final MathContext mathContext;
+
+    /**
+     * Factors the given values; the array is copied and left untouched
+     *
+     * @param values      A square array of values
+     * @param mathContext The precision of every step, or null for the default behaviour of {@link Matrix}
+     */
+    LUDecomposition(BigDecimal[][] values, MathContext mathContext) {
+        this(mathContext, copyRows(values));
+    }
+
+    /**
+     * Factors the given values in place; the array is taken over by the decomposition
+     *
+     * @param values      A square array of values, which nothing else may reference
+     * @param mathContext The precision of every step, or null for the default behaviour of {@link Matrix}
+     * @return The decomposition
+     */
+    static LUDecomposition inPlace(BigDecimal[][] values, MathContext mathContext) {
+        return new LUDecomposition(mathContext, values);
+    }
+
+    private LUDecomposition(MathContext mathContext, BigDecimal[][] values) {
+        int n = values.length;
+        if (n == 0 || values[0].length != n) {
+            throw new IllegalArgumentException("LU decomposition is only defined for square matrices");
+        }
+
+        this.mathContext = mathContext;
+        this.lu = values;
+        this.pivot = new int[n];
+        for (int i = 0; i < n; i++) {
+            pivot[i] = i;
+        }
+
+        // Each pivot is measured against the largest entry of its original row
+        BigDecimal[] rowScale = new BigDecimal[n];
+        for (int i = 0; i < n; i++) {
+            rowScale[i] = DecimalMath.largest(lu[i]);
+        }
+
+        int sign = 1;
+        boolean isSingular = false;
+        for (int k = 0; k < n; k++) {
+            // Pick the largest magnitude in the column as the pivot
+            int p = k;
+            BigDecimal largest = lu[k][k].abs();
+            for (int i = k + 1; i < n; i++) {
+                BigDecimal value = lu[i][k].abs();
+                if (value.compareTo(largest) > 0) {
+                    largest = value;
+                    p = i;
+                }
+            }
+            if (p != k) {
+                BigDecimal[] tempRow = lu[p];
+                lu[p] = lu[k];
+                lu[k] = tempRow;
+                int tempIndex = pivot[p];
+                pivot[p] = pivot[k];
+                pivot[k] = tempIndex;
+                BigDecimal tempScale = rowScale[p];
+                rowScale[p] = rowScale[k];
+                rowScale[k] = tempScale;
+                sign = -sign;
+            }
+
+            if (DecimalMath.isNegligible(lu[k][k], rowScale[k], mathContext)) {
+                isSingular = true;
+                continue;
+            }
+
+            for (int i = k + 1; i < n; i++) {
+                if (lu[i][k].signum() == 0) {
+                    continue;
+                }
+                BigDecimal factor = DecimalMath.divide(lu[i][k], lu[k][k], mathContext);
+                lu[i][k] = factor;
+                for (int j = k + 1; j < n; j++) {
+                    lu[i][j] = DecimalMath.subtractProduct(lu[i][j], factor, lu[k][j], mathContext);
+                }
+            }
+        }
+
+        this.pivotSign = sign;
+        this.singular = isSingular;
+    }
+
+    private static BigDecimal[][] copyRows(BigDecimal[][] values) {
+        BigDecimal[][] copy = new BigDecimal[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            copy[i] = values[i].clone();
+        }
+        return copy;
+    }
+
+    //================================================================================================================//
+    //                                              Solving
+    //================================================================================================================//
+
+    /**
+     * Solves A * X = B for X
+     *
+     * @param b The right-hand side; must have as many rows as the factored matrix
+     * @return The solution X
+     */
+    public Matrix solve(Matrix b) {
+        // Without a context, results round to a fixed number of places, which already drops cancellation residue
+        BigDecimal[][] magnitude = mathContext == null ? null : new BigDecimal[lu.length][b.columns()];
+        BigDecimal[][] x = this.substitute(b, magnitude);
+        for (int i = 0; i < x.length; i++) {
+            for (int j = 0; j < x[i].length; j++) {
+                x[i][j] = magnitude == null
+                        ? DecimalMath.round(x[i][j], mathContext)
+                        : DecimalMath.round(x[i][j], magnitude[i][j], mathContext);
+            }
+        }
+        return new Matrix(x).inContext(mathContext);
+    }
+
+    /**
+     * Runs the forward and back substitution for every column of the right-hand side, without rounding the result
+     *
+     * @param b         The right-hand side
+     * @param magnitude If not null, filled with a rough bound on the largest term that went into each
+     *                  solution value, so values that only cancelled down to rounding error can be recognised
+     */
+    private BigDecimal[][] substitute(Matrix b, BigDecimal[][] magnitude) {
+        int n = lu.length;
+        if (b.rows() != n) {
+            throw new IllegalArgumentException("Cannot solve against a matrix with a different number of rows");
+        }
+        if (singular) {
+            throw new ArithmeticException("Matrix is singular");
+        }
+
+        BigDecimal[][] x = new BigDecimal[n][b.columns()];
+        for (int column = 0; column < b.columns(); column++) {
+            // Forward substitution with L, applying the row permutation on the way in
+            for (int i = 0; i < n; i++) {
+                BigDecimal value = b.getBigDecimal(pivot[i], column);
+                BigDecimal largest = value.abs();
+                for (int k = 0; k < i; k++) {
+                    value = DecimalMath.subtractProduct(value, lu[i][k], x[k][column], mathContext);
+                    if (magnitude != null) {
+                        largest = largest.max(lu[i][k].abs().multiply(magnitude[k][column], MAGNITUDE));
+                    }
+                }
+                x[i][column] = value;
+                if (magnitude != null) {
+                    magnitude[i][column] = largest;
+                }
+            }
+            // Back substitution with U
+            for (int i = n - 1; i >= 0; i--) {
+                BigDecimal value = x[i][column];
+                BigDecimal largest = magnitude == null ? null : magnitude[i][column];
+                for (int k = i + 1; k < n; k++) {
+                    value = DecimalMath.subtractProduct(value, lu[i][k], x[k][column], mathContext);
+                    if (magnitude != null) {
+                        largest = largest.max(lu[i][k].abs().multiply(magnitude[k][column], MAGNITUDE));
+                    }
+                }
+                x[i][column] = DecimalMath.divide(value, lu[i][i], mathContext);
+                if (magnitude != null) {
+                    magnitude[i][column] = largest.divide(lu[i][i].abs(), MAGNITUDE);
+                }
+            }
+        }
+        return x;
+    }
+
+    /**
+     * Returns the determinant of the factored matrix
+     *
+     * @return The determinant (BigDecimal)
+     */
+    public BigDecimal determinant() {
+        return singular ? BigDecimal.ZERO : DecimalMath.round(this.diagonalProduct(), mathContext);
+    }
+
+    private BigDecimal diagonalProduct() {
+        BigDecimal det = BigDecimal.valueOf(pivotSign);
+        for (int i = 0; i < lu.length; i++) {
+            det = DecimalMath.multiply(det, lu[i][i], mathContext);
+        }
+        return det;
+    }
+
+    /**
+     * Returns the inverse of the factored matrix
+     *
+     * @return The inverse
+     */
+    public Matrix inverse() {
+        return this.solve(Matrix.identity(lu.length));
+    }
+
+    /**
+     * Returns the adjugate of the factored matrix as det(A) * A^-1.
+     * Only valid for a non-singular matrix
+     *
+     * @return The adjugate
+     */
+    Matrix adjugate() {
+        if (singular) {
+            throw new ArithmeticException("Matrix is singular");
+        }
+        BigDecimal det = this.diagonalProduct();
+        BigDecimal[][] adjugate = this.substitute(Matrix.identity(lu.length), null);
+        for (BigDecimal[] row : adjugate) {
+            for (int j = 0; j < row.length; j++) {
+                row[j] = DecimalMath.round(DecimalMath.multiply(row[j], det, mathContext), mathContext);
+            }
+        }
+        return new Matrix(adjugate).inContext(mathContext);
+    }
+
+    //================================================================================================================//
+    //                                              Getters
+    //================================================================================================================//
+
+    public boolean isSingular() {
+        return singular;
+    }
+
+    /**
+     * Returns the row permutation; row i of P * A is row pivot[i] of A
+     *
+     * @return A copy of the permutation vector
+     */
+    public int[] pivot() {
+        return pivot.clone();
+    }
+
+    /**
+     * Returns the unit lower triangular factor L
+     *
+     * @return L
+     */
+    public Matrix lower() {
+        int n = lu.length;
+        BigDecimal[][] values = new BigDecimal[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                values[i][j] = i > j ? lu[i][j] : (i == j ? BigDecimal.ONE : BigDecimal.ZERO);
+            }
+        }
+        return new Matrix(values).inContext(mathContext);
+    }
+
+    /**
+     * Returns the upper triangular factor U
+     *
+     * @return U
+     */
+    public Matrix upper() {
+        int n = lu.length;
+        BigDecimal[][] values = new BigDecimal[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                values[i][j] = i <= j ? lu[i][j] : BigDecimal.ZERO;
+            }
+        }
+        return new Matrix(values).inContext(mathContext);
+    }
+}
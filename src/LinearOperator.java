@@ -0,0 +1,25 @@
+/**
+ * Anything that can be multiplied by a vector of doubles.
+ * The iterative solvers only ever touch a matrix through this, so they work on
+ * {@link Matrix}, {@link DoubleMatrix} and {@link SparseMatrix} alike.
+ */
+public interface LinearOperator {
+    int rows();
+
+    int columns();
+
+    /**
+     * Computes y = A * x
+     *
+     * @param x The input vector, one entry per column
+     * @param y The output vector, one entry per row; overwritten
+     */
+    void apply(double[] x, double[] y);
+
+    /**
+     * Returns the main diagonal, used by the Jacobi preconditioner
+     *
+     * @return The diagonal entries
+     */
+    double[] diagonal();
+}
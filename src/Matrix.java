@@ -1,13 +1,37 @@
 import java.math.BigDecimal;
+import java.math.MathContext;
 import java.math.RoundingMode;
 import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
-public class Matrix {
+public class Matrix implements LinearOperator {
     private final BigDecimal[][] matrix;
+    /*
+     * Results derived from the values, computed on first use and dropped by invalidate() whenever the values or
+     * the precision change. Cached matrices are handed out as copies, so callers cannot corrupt them
+     */
     private BigDecimal[][] inverseMatrix;
+    private LUDecomposition luDecomposition;
+    private CholeskyDecomposition choleskyDecomposition;
+    private LDLDecomposition ldlDecomposition;
+    private BigDecimal determinant;
+    private Boolean symmetric;
+    private Boolean skewSymmetric;
+    private MatrixStructure structure;
+    /**
+     * The precision applied to every arithmetic step, or null for the default -- exact sums and products,
+     * with divisions rounded to {@link #decimalCount} places
+     */
+    private MathContext mathContext;
 
-    private static final int decimalCount = 32;
-    private static final RoundingMode roundingMode = RoundingMode.HALF_UP;
+    static final int decimalCount = 32;
+    static final RoundingMode roundingMode = RoundingMode.HALF_UP;
+    /**
+     * Refinement steps allowed before {@link #solveRefined(Matrix, BigDecimal)} gives up on the double factors
+     */
+    static final int MAX_REFINEMENTS = 20;
 
     //================================================================================================================//
     //                                              Constructors
@@ -38,6 +62,14 @@ public class Matrix {
         }
     }
 
+    /**
+     * Takes over the given rows without copying them
+     */
+    private Matrix(MathContext mathContext, BigDecimal[][] values) {
+        this.matrix = values;
+        this.mathContext = mathContext;
+    }
+
     /**
      * Creates an empty matrix with the given rows and columns
      *
@@ -48,7 +80,7 @@ public class Matrix {
         this.matrix = new BigDecimal[rows][columns];
         for (int i = 0; i < rows; i++) {
             for (int j = 0; j < columns; j++) {
-                this.matrix[i][j] = new BigDecimal(0);
+                this.matrix[i][j] = BigDecimal.ZERO;
             }
         }
     }
@@ -91,6 +123,35 @@ public class Matrix {
     //                                          Static Constructors
     //================================================================================================================//
 
+    /**
+     * Creates a matrix that takes over the given rows, which nothing else may reference
+     *
+     * @param values      The values
+     * @param mathContext The precision, or null
+     * @return The new matrix
+     */
+    static Matrix wrap(BigDecimal[][] values, MathContext mathContext) {
+        return new Matrix(mathContext, values);
+    }
+
+    /**
+     * Creates a matrix whose cells are all null, for results that overwrite every cell anyway
+     */
+    private static Matrix uninitialized(int rows, int columns, MathContext mathContext) {
+        return new Matrix(mathContext, new BigDecimal[rows][columns]);
+    }
+
+    /**
+     * Starts a lazily evaluated expression, such as {@code Matrix.expr(a).times(b).plus(c).evaluate()},
+     * which orders products by cost and fuses element-wise steps into one pass
+     *
+     * @param matrix The first operand
+     * @return The expression
+     */
+    public static MatrixExpression expr(Matrix matrix) {
+        return MatrixExpression.of(matrix);
+    }
+
     /**
      * Creates an identity matrix of the given size
      *
@@ -122,10 +183,10 @@ public class Matrix {
     public Matrix scale(double value) {
 
         BigDecimal bdValue = new BigDecimal(value);
-        Matrix matrix = new Matrix(this.size());
+        Matrix matrix = Matrix.uninitialized(this.rows(), this.columns(), mathContext);
         for (int i = 0; i < matrix.matrix.length; i++) {
             for (int j = 0; j < matrix.matrix[i].length; j++) {
-                matrix.matrix[i][j] = this.matrix[i][j].multiply(bdValue);
+                matrix.matrix[i][j] = DecimalMath.multiply(this.matrix[i][j], bdValue, mathContext);
             }
         }
         return matrix;
@@ -143,10 +204,10 @@ public class Matrix {
             throw new IllegalArgumentException("Cannot add matrices of different sizes");
         }
 
-        Matrix matrix = new Matrix(this.size());
+        Matrix matrix = Matrix.uninitialized(this.rows(), this.columns(), mathContext);
         for (int i = 0; i < matrix.matrix.length; i++) {
             for (int j = 0; j < matrix.matrix[i].length; j++) {
-                matrix.matrix[i][j] = this.matrix[i][j].add(other.matrix[i][j]);
+                matrix.matrix[i][j] = DecimalMath.add(this.matrix[i][j], other.matrix[i][j], mathContext);
             }
         }
         return matrix;
@@ -164,50 +225,203 @@ public class Matrix {
             throw new IllegalArgumentException("Cannot subtract matrices of different sizes");
         }
 
-        Matrix matrix = new Matrix(this.size());
+        Matrix matrix = Matrix.uninitialized(this.rows(), this.columns(), mathContext);
         for (int i = 0; i < matrix.matrix.length; i++) {
             for (int j = 0; j < matrix.matrix[i].length; j++) {
-                matrix.matrix[i][j] = this.matrix[i][j].subtract(other.matrix[i][j]);
+                matrix.matrix[i][j] = DecimalMath.subtract(this.matrix[i][j], other.matrix[i][j], mathContext);
             }
         }
         return matrix;
     }
 
+    /**
+     * Multiplies this matrix by another, and returns a new matrix.
+     * Diagonal and banded matrices only visit their band; anything else uses a cache-blocked kernel,
+     * which is split across the common fork-join pool for large products
+     *
+     * @param other The right-hand matrix
+     * @return The product
+     */
     public Matrix multiply(Matrix other) {
         if (this.columns() != other.rows()) {
             throw new IllegalArgumentException("Cannot multiply matrices of non compatible sizes\n" +
                     "Expected other matrix to have " + this.columns() + " rows\n");
         }
 
-        Matrix matrix = new Matrix(this.rows(), other.columns());
-        for (int i = 0; i < matrix.rows(); i++) {
-            for (int j = 0; j < matrix.columns(); j++) {
-                BigDecimal value = new BigDecimal(0);
-                for (int k = 0; k < this.columns(); k++) {
-                    value = value.add(this.matrix[i][k].multiply(other.matrix[k][j]));
-                }
-                matrix.matrix[i][j] = value;
-            }
+        Matrix matrix = Matrix.uninitialized(this.rows(), other.columns(), mathContext);
+        MatrixStructure structure = this.structure();
+        if (structure.isDiagonal() || structure.isBanded()) {
+            StructuredKernels.multiplyBanded(this.matrix, structure.lowerBandwidth(), structure.upperBandwidth(),
+                    other.matrix, matrix.matrix, mathContext);
+        } else if (other.isSquare() && other.structure().isDiagonal()) {
+            StructuredKernels.multiplyDiagonalRight(this.matrix, other.matrix, matrix.matrix, mathContext);
+        } else {
+            MultiplyKernels.multiply(this.matrix, other.matrix, matrix.matrix, mathContext);
         }
         return matrix;
     }
 
+    /**
+     * Multiplies this matrix by another using the given algorithm
+     *
+     * @param other     The right-hand matrix
+     * @param algorithm The multiplication algorithm
+     * @return The product
+     */
+    public Matrix multiply(Matrix other, MultiplyAlgorithm algorithm) {
+        return this.multiply(other, algorithm, StrassenMultiply.DEFAULT_LEAF_SIZE);
+    }
+
+    /**
+     * Multiplies this matrix by another using the given algorithm
+     *
+     * @param other     The right-hand matrix
+     * @param algorithm The multiplication algorithm
+     * @param leafSize  For {@link MultiplyAlgorithm#STRASSEN}, the size at or below which the classical kernel is used
+     * @return The product
+     */
+    public Matrix multiply(Matrix other, MultiplyAlgorithm algorithm, int leafSize) {
+        if (algorithm == MultiplyAlgorithm.CLASSICAL) {
+            return this.multiply(other);
+        }
+        if (this.columns() != other.rows()) {
+            throw new IllegalArgumentException("Cannot multiply matrices of non compatible sizes\n" +
+                    "Expected other matrix to have " + this.columns() + " rows\n");
+        }
+        if (leafSize < 1) {
+            throw new IllegalArgumentException("Leaf size must be positive");
+        }
+        return Matrix.wrap(StrassenMultiply.multiply(this.matrix, other.matrix, leafSize, mathContext), mathContext);
+    }
+
+    /**
+     * Multiplies this matrix by a vector of doubles, in double precision
+     *
+     * @param x The input vector, one entry per column
+     * @param y The output vector, one entry per row; overwritten
+     */
+    @Override
+    public void apply(double[] x, double[] y) {
+        for (int i = 0; i < this.rows(); i++) {
+            double sum = 0;
+            for (int j = 0; j < this.columns(); j++) {
+                sum += this.matrix[i][j].doubleValue() * x[j];
+            }
+            y[i] = sum;
+        }
+    }
+
     public Matrix transpose() {
-        Matrix matrix = new Matrix(this.columns(), this.rows());
-        for (int i = 0; i < matrix.rows(); i++) {
-            for (int j = 0; j < matrix.columns(); j++) {
-                matrix.matrix[i][j] = this.matrix[j][i];
+        BigDecimal[][] values = new BigDecimal[this.columns()][this.rows()];
+        for (int i = 0; i < values.length; i++) {
+            for (int j = 0; j < values[i].length; j++) {
+                values[i][j] = this.matrix[j][i];
             }
         }
-        return matrix;
+        return Matrix.wrap(values, mathContext);
+    }
+
+    //================================================================================================================//
+    //                                         In-Place Operations
+    //================================================================================================================//
+
+    /**
+     * Multiplies each value in this matrix by the given value, in place
+     *
+     * @param value The value
+     * @return This matrix
+     */
+    public Matrix scaleInPlace(double value) {
+        BigDecimal bdValue = new BigDecimal(value);
+        for (BigDecimal[] row : matrix) {
+            for (int j = 0; j < row.length; j++) {
+                row[j] = DecimalMath.multiply(row[j], bdValue, mathContext);
+            }
+        }
+        this.invalidate();
+        return this;
+    }
+
+    /**
+     * Adds another matrix onto this one, in place.
+     * Matrices must be of the same size
+     *
+     * @param other The other matrix to add
+     * @return This matrix
+     */
+    public Matrix addInPlace(Matrix other) {
+        if (!Arrays.equals(this.size(), other.size())) {
+            throw new IllegalArgumentException("Cannot add matrices of different sizes");
+        }
+        for (int i = 0; i < matrix.length; i++) {
+            for (int j = 0; j < matrix[i].length; j++) {
+                matrix[i][j] = DecimalMath.add(matrix[i][j], other.matrix[i][j], mathContext);
+            }
+        }
+        this.invalidate();
+        return this;
+    }
+
+    /**
+     * Subtracts another matrix from this one, in place.
+     * Matrices must be of the same size
+     *
+     * @param other The other matrix
+     * @return This matrix
+     */
+    public Matrix subtractInPlace(Matrix other) {
+        if (!Arrays.equals(this.size(), other.size())) {
+            throw new IllegalArgumentException("Cannot subtract matrices of different sizes");
+        }
+        for (int i = 0; i < matrix.length; i++) {
+            for (int j = 0; j < matrix[i].length; j++) {
+                matrix[i][j] = DecimalMath.subtract(matrix[i][j], other.matrix[i][j], mathContext);
+            }
+        }
+        this.invalidate();
+        return this;
     }
 
+    /**
+     * Writes the product a * b into an existing matrix, overwriting every cell.
+     * The destination keeps its own precision, which every product and sum is rounded to
+     *
+     * @param a    The left matrix
+     * @param b    The right matrix
+     * @param dest The destination, with a's rows and b's columns; must not share rows with a or b.
+     *             Passing a or b itself is rejected, but matrices wrapping the same rows are not detected
+     * @return The destination
+     */
+    public static Matrix multiplyInto(Matrix a, Matrix b, Matrix dest) {
+        if (a.columns() != b.rows()) {
+            throw new IllegalArgumentException("Cannot multiply matrices of non compatible sizes\n" +
+                    "Expected other matrix to have " + a.columns() + " rows\n");
+        }
+        if (dest.rows() != a.rows() || dest.columns() != b.columns()) {
+            throw new IllegalArgumentException("Destination must have " + a.rows() + " rows and "
+                    + b.columns() + " columns");
+        }
+        if (dest == a || dest == b) {
+            throw new IllegalArgumentException("Destination cannot be one of the factors");
+        }
+        MultiplyKernels.multiply(a.matrix, b.matrix, dest.matrix, dest.mathContext);
+        dest.invalidate();
+        return dest;
+    }
+
+    /**
+     * Rounds every value in place -- to {@link #decimalCount} - 2 decimal places, or to the precision of the
+     * matrix's {@link MathContext} if it has one
+     */
     public void round() {
         for (int i = 0; i < this.matrix.length; i++) {
             for (int j = 0; j < this.matrix[i].length; j++) {
-                this.matrix[i][j] = this.matrix[i][j].setScale(decimalCount - 2, RoundingMode.HALF_UP);
+                this.matrix[i][j] = mathContext == null
+                        ? this.matrix[i][j].setScale(decimalCount - 2, RoundingMode.HALF_UP)
+                        : DecimalMath.round(this.matrix[i][j], mathContext);
             }
         }
+        this.invalidate();
     }
 
     /**
@@ -224,41 +438,49 @@ public class Matrix {
 
         // Make a copy of the other matrix, if there is one
         Matrix other = otherMatrix != null ? otherMatrix.copy() : new Matrix(this.rows(), 1);
+        other.mathContext = mathContext;
 
         if (this.rows() != other.rows()) {
             throw new IllegalArgumentException("Cannot reduce matrices of different row sizes");
         }
 
-        // get a non-zero along the main diagonal
-        for (int i = 0; i < matrix.rows(); i++) {
-            if (matrix.matrix[i][i].doubleValue() == 0) {
-                for (int j = i + 1; j < matrix.rows(); j++) {
-                    if (matrix.matrix[i][j].doubleValue() != 0) {
-                        matrix.swapRows(i, j);
-                        other.swapRows(i, j);
-                        break;
-                    }
+//        System.out.println("Reducing...");
+        for (int rowA = 0; rowA < matrix.columns() - 1 && rowA < matrix.rows(); rowA++) {
+            // Partial pivoting -- bring the largest magnitude in the column onto the diagonal
+            int pivot = rowA;
+            for (int rowB = rowA + 1; rowB < matrix.rows(); rowB++) {
+                if (matrix.matrix[rowB][rowA].abs().compareTo(matrix.matrix[pivot][rowA].abs()) > 0) {
+                    pivot = rowB;
                 }
             }
-        }
-
+            if (pivot != rowA) {
+                matrix.swapRows(rowA, pivot);
+                other.swapRows(rowA, pivot);
+            }
+            if (matrix.matrix[rowA][rowA].signum() == 0) {
+                continue;
+            }
 
-//        System.out.println("Reducing...");
-        for (int rowA = 0; rowA < matrix.columns() - 1; rowA++) {
             for (int rowB = rowA + 1; rowB < matrix.rows(); rowB++) {
-                BigDecimal multValue = matrix.matrix[rowB][rowA]
-                        .divide(matrix.matrix[rowA][rowA], decimalCount, roundingMode)
-                        .multiply(new BigDecimal(-1));
+                if (matrix.matrix[rowB][rowA].signum() == 0) {
+                    continue;
+                }
+                BigDecimal multValue = DecimalMath.divide(matrix.matrix[rowB][rowA], matrix.matrix[rowA][rowA], mathContext)
+                        .negate();
                 matrix.addRows(rowB, rowA, multValue);
                 other.addRows(rowB, rowA, multValue);
+                // Exactly zero by construction; don't leave the rounding residue behind
+                matrix.matrix[rowB][rowA] = BigDecimal.ZERO;
             }
         }
 
         for (int i = 0; i < matrix.rows(); i++) {
-            BigDecimal multValue = BigDecimal.ONE
-                    .divide(matrix.matrix[i][i], decimalCount, roundingMode);
+            BigDecimal multValue = DecimalMath.divide(BigDecimal.ONE, matrix.matrix[i][i], mathContext);
             matrix.multiplyRow(i, multValue);
             other.multiplyRow(i, multValue);
+            if (i < matrix.columns()) {
+                matrix.matrix[i][i] = BigDecimal.ONE;
+            }
         }
 
         matrix.stripTrailingZeros();
@@ -273,6 +495,7 @@ public class Matrix {
 
         // Make a copy of the other matrix, if there is one
         Matrix other = otherMatrix != null ? otherMatrix.copy() : new Matrix(this.rows(), 1);
+        other.mathContext = mathContext;
 
         if (this.rows() != other.rows()) {
             throw new IllegalArgumentException("Cannot reduce matrices of different row sizes");
@@ -284,7 +507,7 @@ public class Matrix {
 
         for (int rowA = matrix.rows() - 1; rowA >= 0; rowA--) {
             for (int rowB = rowA - 1; rowB >= 0; rowB--) {
-                BigDecimal multValue = matrix.matrix[rowB][rowA].multiply(new BigDecimal(-1));
+                BigDecimal multValue = matrix.matrix[rowB][rowA].negate();
                 matrix.addRows(rowB, rowA, multValue);
                 other.addRows(rowB, rowA, multValue);
             }
@@ -297,76 +520,310 @@ public class Matrix {
         return new Matrix[]{matrix, otherMatrix != null ? other : null};
     }
 
+    /**
+     * Solves this * X = other for X.
+     * Diagonal, triangular, tridiagonal and banded matrices are solved directly, by their {@link #structure()}.
+     * Other square matrices are solved through the cheapest factorization that applies -- Cholesky or LDL^T when
+     * the matrix is symmetric, LU otherwise; anything else falls back to row reduction
+     *
+     * @param other The right-hand side
+     * @return The solution X
+     */
     public Matrix solve(Matrix other) {
+        if (this.isSquare()) {
+            BigDecimal[][] x = this.solveStructured(other);
+            return x != null ? Matrix.wrap(x, mathContext) : this.factorization().solve(other);
+        }
         return this.reducedRowEchelonForm(other)[1];
     }
 
     /**
-     * Returns the determinant of the matrix
+     * Solves this * X = other for X, with every arithmetic step rounded to the given precision
      *
-     * @return The determinant (BigDecimal)
+     * @param other       The right-hand side
+     * @param mathContext The precision
+     * @return The solution X
      */
-    public BigDecimal determinant() {
+    public Matrix solve(Matrix other, MathContext mathContext) {
+        return this.withPrecision(mathContext).solve(other);
+    }
+
+    /**
+     * Solves many independent systems a[i] * X = b[i], spread across the common fork-join pool.
+     * Small systems are each too cheap to split, so the batch is split between systems instead.
+     * Each system goes through {@link #solve(Matrix)}, so it keeps the structure and factorization dispatch;
+     * BigDecimal values have no fixed width to pack, so for systems that fit in doubles,
+     * {@link DoubleMatrix#solveAll(double[], double[], int)} packs them into flat primitive arrays instead.
+     * Solving is CPU-bound with nothing to block on, so the work-stealing pool suits it better than virtual threads.
+     * <p>
+     * Like {@link DoubleMatrix#solveAll(double[], double[], int)} and {@link Solver#findPolynomials(double[][][])},
+     * a system that cannot be solved does not abort the batch: it has no solution in its slot, which is null here
+     *
+     * @param a The coefficient matrices
+     * @param b The right-hand sides, one per coefficient matrix
+     * @return The solutions, in input order; null for any singular system
+     */
+    public static List<Matrix> solveAll(List<Matrix> a, List<Matrix> b) {
+        if (a.size() != b.size()) {
+            throw new IllegalArgumentException("Every system needs exactly one right-hand side");
+        }
+        return IntStream.range(0, a.size()).parallel()
+                .mapToObj(i -> solveOrNull(a.get(i), b.get(i)))
+                .collect(Collectors.toList());
+    }
+
+    private static Matrix solveOrNull(Matrix a, Matrix b) {
+        try {
+            return a.solve(b);
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Solves this * X = other for X by mixed-precision iterative refinement, to the full precision of the matrix.
+     *
+     * @param other The right-hand side
+     * @return The solution X
+     * @see #solveRefined(Matrix, BigDecimal)
+     */
+    public Matrix solveRefined(Matrix other) {
+        int digits = mathContext == null ? decimalCount - 2 : mathContext.getPrecision() - 2;
+        return this.solveRefined(other, BigDecimal.ONE.scaleByPowerOfTen(-digits));
+    }
+
+    /**
+     * Solves this * X = other for X by mixed-precision iterative refinement.
+     * <p>
+     * The matrix is factored once in double precision. Each step computes the residual r = b - A * x in BigDecimal
+     * against this matrix, solves A * d = r with the double factors and adds the correction, gaining roughly
+     * sixteen digits per step on a well-conditioned system. Refinement stops once the correction is within the
+     * tolerance relative to the solution. If the double factorization fails or the corrections stop shrinking,
+     * the system is solved with {@link #reducedRowEchelonForm(Matrix)} instead
+     *
+     * @param other     The right-hand side
+     * @param tolerance The largest acceptable correction, relative to the largest entry of the solution
+     * @return The solution X
+     */
+    public Matrix solveRefined(Matrix other, BigDecimal tolerance) {
         if (!this.isSquare()) {
-            throw new IllegalArgumentException("Determinant is only defined for square matrices");
+            throw new IllegalArgumentException("Refinement is only defined for square matrices");
+        }
+        if (other.rows() != this.rows()) {
+            throw new IllegalArgumentException("Cannot solve against a matrix with a different number of rows");
         }
 
-        // Copy the matrix because we don't want to modify the original matrix
-        Matrix matrix = this.copy();
-        BigDecimal det = BigDecimal.ONE;
-        int swaps = 0;
+        int n = this.rows();
+        DoubleLUDecomposition lu = this.toDoubleMatrix().lu();
+        if (lu.isSingular()) {
+            return this.reducedRowEchelonForm(other)[1];
+        }
 
-        // Perform Gaussian elimination to transform the matrix into an upper triangular matrix
-        for (int i = 0; i < matrix.rows(); i++) {
-            // If the diagonal element is zero, we need to swap with a lower row
-            if (matrix.matrix[i][i].compareTo(BigDecimal.ZERO) == 0) {
-                boolean swapped = false;
-                for (int j = i + 1; j < matrix.rows(); j++) {
-                    if (matrix.matrix[j][i].compareTo(BigDecimal.ZERO) != 0) {
-                        matrix.swapRows(i, j);
-                        swaps++;
-                        swapped = true;
-                        break;
+        BigDecimal[][] x = new BigDecimal[n][other.columns()];
+        double[] residual = new double[n];
+        double[] correction = new double[n];
+        for (int column = 0; column < other.columns(); column++) {
+            // Initial solution entirely in double
+            for (int i = 0; i < n; i++) {
+                residual[i] = other.get(i, column);
+            }
+            lu.solve(residual, correction);
+            BigDecimal[] solution = new BigDecimal[n];
+            for (int i = 0; i < n; i++) {
+                if (!Double.isFinite(correction[i])) {
+                    return this.reducedRowEchelonForm(other)[1];
+                }
+                solution[i] = BigDecimal.valueOf(correction[i]);
+            }
+
+            BigDecimal previous = null;
+            boolean converged = false;
+            for (int step = 0; step < MAX_REFINEMENTS && !converged; step++) {
+                for (int i = 0; i < n; i++) {
+                    BigDecimal value = other.matrix[i][column];
+                    for (int j = 0; j < n; j++) {
+                        value = DecimalMath.subtractProduct(value, matrix[i][j], solution[j], mathContext);
                     }
+                    residual[i] = value.doubleValue();
                 }
-                if (!swapped) {
-                    // If no non-zero pivot is found, the determinant is zero
-                    return BigDecimal.ZERO;
+                lu.solve(residual, correction);
+
+                BigDecimal size = BigDecimal.ZERO;
+                BigDecimal change = BigDecimal.ZERO;
+                for (int i = 0; i < n; i++) {
+                    if (!Double.isFinite(correction[i])) {
+                        return this.reducedRowEchelonForm(other)[1];
+                    }
+                    BigDecimal delta = BigDecimal.valueOf(correction[i]);
+                    solution[i] = DecimalMath.limit(solution[i].add(delta), mathContext);
+                    size = size.max(solution[i].abs());
+                    change = change.max(delta.abs());
                 }
-            }
 
-            // Now perform row reduction
-            for (int j = i + 1; j < matrix.rows(); j++) {
-                if (matrix.matrix[j][i].compareTo(BigDecimal.ZERO) != 0) {
-                    BigDecimal factor = matrix.matrix[j][i].divide(matrix.matrix[i][i], decimalCount, roundingMode);
-                    matrix.addRows(j, i, factor.negate());
+                converged = DecimalMath.isNegligible(change, size, mathContext)
+                        || change.compareTo(tolerance.multiply(size)) <= 0;
+                // A contracting refinement at least halves the correction every step
+                if (!converged && previous != null && change.multiply(BigDecimal.valueOf(2)).compareTo(previous) > 0) {
+                    return this.reducedRowEchelonForm(other)[1];
                 }
+                previous = change;
+            }
+            if (!converged) {
+                return this.reducedRowEchelonForm(other)[1];
+            }
+
+            for (int i = 0; i < n; i++) {
+                x[i][column] = DecimalMath.round(solution[i], mathContext);
             }
         }
+        return new Matrix(x).inContext(mathContext);
+    }
 
-        // The determinant is the product of the diagonal elements
-        for (int i = 0; i < matrix.rows(); i++) {
-            det = det.multiply(matrix.matrix[i][i]);
+    /**
+     * Factors the matrix into P * A = L * U, using partial pivoting.
+     * The decomposition is kept until the matrix changes, so repeated solves only pay for the substitution
+     *
+     * @return The LU decomposition
+     */
+    public LUDecomposition lu() {
+        if (!this.isSquare()) {
+            throw new IllegalArgumentException("LU decomposition is only defined for square matrices");
         }
+        if (luDecomposition == null) {
+            luDecomposition = new LUDecomposition(this.matrix, mathContext);
+        }
+        return luDecomposition;
+    }
 
-        // Account for row swaps (each swap flips the sign of the determinant)
-        if (swaps % 2 != 0) {
-            det = det.negate();
+    /**
+     * Factors a symmetric matrix into L * L^T, reading only its lower triangle.
+     * Check {@link CholeskyDecomposition#isPositiveDefinite()} before using the result
+     *
+     * @return The Cholesky decomposition
+     */
+    public CholeskyDecomposition cholesky() {
+        if (!this.isSymmetric()) {
+            throw new IllegalArgumentException("Cholesky decomposition is only defined for symmetric matrices");
+        }
+        if (choleskyDecomposition == null) {
+            choleskyDecomposition = new CholeskyDecomposition(this.matrix, mathContext);
         }
+        return choleskyDecomposition;
+    }
 
-        return det.setScale(decimalCount - 2, roundingMode).stripTrailingZeros();
+    /**
+     * Factors a symmetric matrix into P^T * L * D * L^T * P, reading only its lower triangle.
+     * Check {@link LDLDecomposition#hasBrokenDown()} before using the result
+     *
+     * @return The LDL^T decomposition
+     */
+    public LDLDecomposition ldl() {
+        if (!this.isSymmetric()) {
+            throw new IllegalArgumentException("LDL decomposition is only defined for symmetric matrices");
+        }
+        if (ldlDecomposition == null) {
+            ldlDecomposition = new LDLDecomposition(this.matrix, mathContext);
+        }
+        return ldlDecomposition;
+    }
+
+    /**
+     * Solves a square matrix with the kernel for its structure
+     *
+     * @return The solution, or null if the matrix has no special structure
+     */
+    private BigDecimal[][] solveStructured(Matrix other) {
+        MatrixStructure structure = this.structure();
+        if (!this.isSquare() || structure.isGeneral()) {
+            return null;
+        }
+        if (other.rows() != this.rows()) {
+            throw new IllegalArgumentException("Cannot solve against a matrix with a different number of rows");
+        }
+        int lower = structure.lowerBandwidth();
+        int upper = structure.upperBandwidth();
+        if (structure.isDiagonal()) {
+            return StructuredKernels.solveDiagonal(matrix, other, mathContext);
+        }
+        if (structure.isUpperTriangular() || structure.isLowerTriangular()) {
+            boolean isUpper = structure.isUpperTriangular();
+            return StructuredKernels.solveTriangular(matrix, isUpper ? upper : lower, isUpper, other, mathContext);
+        }
+        if (structure.isTridiagonal()) {
+            return StructuredKernels.solveTridiagonal(matrix, other, mathContext);
+        }
+        return StructuredKernels.solveBanded(matrix, lower, upper, other, mathContext);
+    }
+
+    /**
+     * Picks the cheapest factorization of a square matrix that applies: Cholesky when it is symmetric
+     * positive definite, LDL^T when it is otherwise symmetric, and LU for everything else or when LDL^T breaks down
+     * -- including on a diagonal pivot too small to keep its element growth bounded
+     */
+    private Factorization factorization() {
+        if (this.isSymmetric()) {
+            // A positive-definite matrix has a positive diagonal, so don't attempt Cholesky without one
+            boolean positiveDiagonal = true;
+            for (int i = 0; i < matrix.length && positiveDiagonal; i++) {
+                positiveDiagonal = matrix[i][i].signum() > 0;
+            }
+            if (positiveDiagonal && this.cholesky().isPositiveDefinite()) {
+                return this.cholesky();
+            }
+            if (!this.ldl().hasBrokenDown()) {
+                return this.ldl();
+            }
+        }
+        return this.lu();
+    }
+
+    /**
+     * Returns the determinant of the matrix
+     *
+     * @return The determinant (BigDecimal)
+     */
+    public BigDecimal determinant() {
+        if (!this.isSquare()) {
+            throw new IllegalArgumentException("Determinant is only defined for square matrices");
+        }
+
+        if (determinant == null) {
+            MatrixStructure structure = this.structure();
+            if (structure.isUpperTriangular() || structure.isLowerTriangular()) {
+                determinant = StructuredKernels.determinantTriangular(matrix, mathContext);
+            } else if (structure.isTridiagonal()) {
+                determinant = StructuredKernels.determinantTridiagonal(matrix, mathContext);
+            } else if (structure.isBanded()) {
+                determinant = StructuredKernels.determinantBanded(matrix, structure.lowerBandwidth(),
+                        structure.upperBandwidth(), mathContext);
+            } else {
+                determinant = this.factorization().determinant();
+            }
+        }
+        return determinant;
+    }
+
+    /**
+     * Returns the exact determinant, through fraction-free elimination on the decimal values.
+     * The determinant of decimals is always a terminating decimal, so no rounding is involved at all
+     *
+     * @return The exact determinant (BigDecimal)
+     */
+    public BigDecimal exactDeterminant() {
+        return this.toRationalMatrix().determinant().toBigDecimalExact().stripTrailingZeros();
     }
 
     /**
      * Gets the minor of a matrix at a given row and column
      * M(row, column) = determinant(matrix.removeRow(row).removeColumn(column))
+     * The submatrix is gathered straight into the factorization, without intermediate copies
      *
      * @param row    Row to remove
      * @param column Column to remove
      * @return The minor
      */
     public BigDecimal minor(int row, int column) {
-        return this.removeRow(row).removeColumn(column).determinant();
+        return this.view().removeRow(row).removeColumn(column).determinant();
     }
 
     /**
@@ -388,27 +845,152 @@ public class Matrix {
      * @return The cofactor matrix
      */
     public Matrix cofactor() {
-        Matrix matrix = new Matrix(this.rows(), this.columns());
-        for (int i = 0; i < matrix.rows(); i++) {
-            for (int j = 0; j < matrix.columns(); j++) {
-                matrix.matrix[i][j] = this.cofactor(i, j);
-            }
-        }
-        return matrix;
+        return this.adjugate().transpose();
     }
 
     /**
-     * Returns the adjugate matrix;
-     * Transpose the cofactor matrix
+     * Returns the adjugate matrix; the transpose of the cofactor matrix.
+     * Computed from a single factorization -- det(A) * A^-1 when the matrix is invertible
      *
      * @return The adjugate matrix
      */
     public Matrix adjugate() {
-        return this.cofactor().transpose();
+        if (!this.isSquare()) {
+            throw new IllegalArgumentException("Adjugate is only defined for square matrices");
+        }
+        if (this.rows() == 1) {
+            return Matrix.identity(1);
+        }
+
+        LUDecomposition lu = this.lu();
+        return lu.isSingular() ? this.singularAdjugate() : lu.adjugate();
+    }
+
+    /**
+     * Adjugate of a singular matrix, through a completely pivoted elimination P * A * Q = L * U.
+     * A rank below n - 1 has an all-zero adjugate. At rank n - 1 the adjugate has rank one:
+     * adj(P * A * Q) = det(U11) * x * w^T, where U * x = 0 (x[n - 1] = 1) and w^T * L = e[n - 1]^T
+     *
+     * @return The adjugate matrix
+     */
+    private Matrix singularAdjugate() {
+        int n = this.rows();
+        BigDecimal[][] a = new BigDecimal[n][];
+        for (int i = 0; i < n; i++) {
+            a[i] = this.matrix[i].clone();
+        }
+        int[] rowOrder = new int[n];
+        int[] columnOrder = new int[n];
+        for (int i = 0; i < n; i++) {
+            rowOrder[i] = i;
+            columnOrder[i] = i;
+        }
+
+        int sign = 1;
+        int rank = 0;
+        // Pivots are measured against the largest entry of the whole matrix, the first pivot
+        BigDecimal magnitude = null;
+        for (int k = 0; k < n - 1; k++) {
+            int pivotRow = k;
+            int pivotColumn = k;
+            BigDecimal largest = BigDecimal.ZERO;
+            for (int i = k; i < n; i++) {
+                for (int j = k; j < n; j++) {
+                    if (a[i][j].abs().compareTo(largest) > 0) {
+                        largest = a[i][j].abs();
+                        pivotRow = i;
+                        pivotColumn = j;
+                    }
+                }
+            }
+            if (magnitude == null) {
+                magnitude = largest;
+            }
+            if (DecimalMath.isNegligible(largest, magnitude, mathContext)) {
+                break;
+            }
+
+            if (pivotRow != k) {
+                BigDecimal[] tempRow = a[k];
+                a[k] = a[pivotRow];
+                a[pivotRow] = tempRow;
+                int temp = rowOrder[k];
+                rowOrder[k] = rowOrder[pivotRow];
+                rowOrder[pivotRow] = temp;
+                sign = -sign;
+            }
+            if (pivotColumn != k) {
+                for (BigDecimal[] row : a) {
+                    BigDecimal temp = row[k];
+                    row[k] = row[pivotColumn];
+                    row[pivotColumn] = temp;
+                }
+                int temp = columnOrder[k];
+                columnOrder[k] = columnOrder[pivotColumn];
+                columnOrder[pivotColumn] = temp;
+                sign = -sign;
+            }
+
+            for (int i = k + 1; i < n; i++) {
+                BigDecimal factor = DecimalMath.divide(a[i][k], a[k][k], mathContext);
+                a[i][k] = factor;
+                for (int j = k + 1; j < n; j++) {
+                    a[i][j] = DecimalMath.subtractProduct(a[i][j], factor, a[k][j], mathContext);
+                }
+            }
+            rank++;
+        }
+
+        Matrix adjugate = new Matrix(n, n).inContext(mathContext);
+        if (rank < n - 1) {
+            return adjugate;
+        }
+
+        // det(U11), carrying the sign of both permutations
+        BigDecimal scale = BigDecimal.valueOf(sign);
+        for (int i = 0; i < n - 1; i++) {
+            scale = DecimalMath.multiply(scale, a[i][i], mathContext);
+        }
+
+        // U * x = 0 with x[n - 1] = 1
+        BigDecimal[] x = new BigDecimal[n];
+        x[n - 1] = BigDecimal.ONE;
+        for (int i = n - 2; i >= 0; i--) {
+            BigDecimal value = BigDecimal.ZERO;
+            for (int k = i + 1; k < n; k++) {
+                value = DecimalMath.subtractProduct(value, a[i][k], x[k], mathContext);
+            }
+            x[i] = DecimalMath.divide(value, a[i][i], mathContext);
+        }
+
+        // L^T * w = e[n - 1]
+        BigDecimal[] w = new BigDecimal[n];
+        w[n - 1] = BigDecimal.ONE;
+        for (int i = n - 2; i >= 0; i--) {
+            BigDecimal value = BigDecimal.ZERO;
+            for (int k = i + 1; k < n; k++) {
+                value = DecimalMath.subtractProduct(value, a[k][i], w[k], mathContext);
+            }
+            w[i] = value;
+        }
+
+        // adj(A) = Q * adj(P * A * Q) * P, up to the permutation signs already folded into scale
+        for (int i = 0; i < n; i++) {
+            BigDecimal scaledX = DecimalMath.multiply(scale, x[i], mathContext);
+            for (int j = 0; j < n; j++) {
+                adjugate.matrix[columnOrder[i]][rowOrder[j]] =
+                        DecimalMath.round(DecimalMath.multiply(scaledX, w[j], mathContext), mathContext);
+            }
+        }
+        return adjugate;
     }
 
     public Matrix inverse() {
-        return this.reducedRowEchelonForm(Matrix.identity(this.rows()))[1];
+        if (inverseMatrix == null) {
+            BigDecimal[][] x = this.solveStructured(Matrix.identity(this.rows()));
+            inverseMatrix = x != null ? x : this.factorization().inverse().matrix;
+        }
+        return new Matrix(inverseMatrix).inContext(mathContext);
     }
 
 
@@ -440,7 +1022,7 @@ public class Matrix {
             throw new IllegalArgumentException("Cannot multiply row by 0");
         }
         for (int i = 0; i < matrix[row].length; i++) {
-            matrix[row][i] = matrix[row][i].multiply(value);
+            matrix[row][i] = DecimalMath.limit(DecimalMath.multiply(matrix[row][i], value, mathContext), mathContext);
         }
     }
 
@@ -462,7 +1044,7 @@ public class Matrix {
      */
     private void addRows(int rowA, int rowB, BigDecimal value) {
         for (int col = 0; col < matrix[rowA].length; col++) {
-            matrix[rowA][col] = matrix[rowA][col].add(matrix[rowB][col].multiply(value));
+            matrix[rowA][col] = DecimalMath.addProduct(matrix[rowA][col], matrix[rowB][col], value, mathContext);
         }
     }
 
@@ -485,6 +1067,17 @@ public class Matrix {
         return matrix[row][column].doubleValue();
     }
 
+    BigDecimal getBigDecimal(int row, int column) {
+        return matrix[row][column];
+    }
+
+    /**
+     * Returns the backing rows themselves, for views that share them
+     */
+    BigDecimal[][] values() {
+        return matrix;
+    }
+
     /**
      * Sets the value at the given row and column
      *
@@ -498,6 +1091,21 @@ public class Matrix {
 
     public void set(int row, int column, BigDecimal value) {
         matrix[row][column] = value;
+        this.invalidate();
+    }
+
+    /**
+     * Returns the values along the main diagonal
+     *
+     * @return The diagonal, as doubles
+     */
+    @Override
+    public double[] diagonal() {
+        double[] diagonal = new double[Math.min(this.rows(), this.columns())];
+        for (int i = 0; i < diagonal.length; i++) {
+            diagonal[i] = this.matrix[i][i].doubleValue();
+        }
+        return diagonal;
     }
 
     /**
@@ -505,6 +1113,7 @@ public class Matrix {
      *
      * @return The number of rows
      */
+    @Override
     public int rows() {
         return matrix.length;
     }
@@ -514,6 +1123,7 @@ public class Matrix {
      *
      * @return The number of columns
      */
+    @Override
     public int columns() {
         return matrix[0].length;
     }
@@ -522,6 +1132,57 @@ public class Matrix {
     //                                      Getters and Setters (MISC)
     //================================================================================================================//
 
+    /**
+     * Returns a copy of this matrix that applies the given precision to every arithmetic step.
+     * Matrices produced from it carry the same precision
+     *
+     * @param mathContext The precision; must have a nonzero number of digits
+     * @return The new matrix
+     */
+    public Matrix withPrecision(MathContext mathContext) {
+        if (mathContext == null || mathContext.getPrecision() == 0) {
+            throw new IllegalArgumentException("Precision must be a limited number of digits");
+        }
+        return new Matrix(this.matrix).inContext(mathContext);
+    }
+
+    /**
+     * Returns the precision applied to every arithmetic step
+     *
+     * @return The math context, or null for the default behaviour
+     */
+    public MathContext mathContext() {
+        return mathContext;
+    }
+
+    /**
+     * Sets the precision of a newly created matrix
+     *
+     * @param mathContext The precision, or null
+     * @return This matrix
+     */
+    Matrix inContext(MathContext mathContext) {
+        if (this.mathContext != mathContext) {
+            this.mathContext = mathContext;
+            this.invalidate();
+        }
+        return this;
+    }
+
+    /**
+     * Drops every cached derived result; called whenever the values or the precision change
+     */
+    private void invalidate() {
+        inverseMatrix = null;
+        luDecomposition = null;
+        choleskyDecomposition = null;
+        ldlDecomposition = null;
+        determinant = null;
+        symmetric = null;
+        skewSymmetric = null;
+        structure = null;
+    }
+
     /**
      * Returns the size of the matrix
      *
@@ -531,6 +1192,19 @@ public class Matrix {
         return new int[]{matrix.length, matrix[0].length};
     }
 
+    /**
+     * Returns the nonzero structure of the matrix -- diagonal, triangular, tridiagonal, banded or general.
+     * The O(rows * columns) scan runs once, and is repeated only after the matrix changes
+     *
+     * @return The structure
+     */
+    public MatrixStructure structure() {
+        if (structure == null) {
+            structure = MatrixStructure.of(matrix);
+        }
+        return structure;
+    }
+
     /**
      * Checks if the matrix is square; i.e. has the same number of rows and columns
      *
@@ -550,14 +1224,50 @@ public class Matrix {
         if (!this.isSquare()) {
             return false;
         }
-        return this.transpose().equals(this);
+        if (symmetric == null) {
+            symmetric = this.isSymmetric(false);
+        }
+        return symmetric;
     }
 
+    /**
+     * Checks if the matrix is skew-symmetric; i.e. if the matrix is equal to the negative of its transpose
+     *
+     * @return True if the matrix is skew-symmetric
+     */
     public boolean isSkewSymmetric() {
         if (!this.isSquare()) {
             return false;
         }
-        return this.transpose().scale(-1).equals(this);
+        if (skewSymmetric == null) {
+            skewSymmetric = this.isSymmetric(true);
+        }
+        return skewSymmetric;
+    }
+
+    /**
+     * Compares each value below the diagonal with its mirror image in place, without building the transpose,
+     * and stops at the first mismatch. Values are compared numerically, so 2 and 2.0 match
+     *
+     * @param skew Whether mirrored values must be negatives of each other, rather than equal
+     */
+    private boolean isSymmetric(boolean skew) {
+        for (int i = 0; i < matrix.length; i++) {
+            if (skew && matrix[i][i].signum() != 0) {
+                return false;
+            }
+            for (int j = 0; j < i; j++) {
+                BigDecimal value = matrix[i][j];
+                BigDecimal mirror = matrix[j][i];
+                boolean matches = skew
+                        ? value.signum() == -mirror.signum() && value.abs().compareTo(mirror.abs()) == 0
+                        : value.compareTo(mirror) == 0;
+                if (!matches) {
+                    return false;
+                }
+            }
+        }
+        return true;
     }
 
     public Matrix exchangeColumn(int columnNumber, Matrix otherMatrix) {
@@ -588,7 +1298,7 @@ public class Matrix {
         if (rowNumber < 0 || rowNumber >= this.rows()) {
             throw new IllegalArgumentException("Invalid row number");
         }
-        Matrix matrix = new Matrix(this.rows() - 1, this.columns());
+        Matrix matrix = Matrix.uninitialized(this.rows() - 1, this.columns(), mathContext);
         for (int i = 0; i < rowNumber; i++) {
             System.arraycopy(this.matrix[i], 0, matrix.matrix[i], 0, this.columns());
         }
@@ -602,7 +1312,87 @@ public class Matrix {
         if (columnNumber < 0 || columnNumber >= this.columns()) {
             throw new IllegalArgumentException("Invalid column number");
         }
-        return this.transpose().removeRow(columnNumber).transpose();
+        BigDecimal[][] values = new BigDecimal[this.rows()][this.columns() - 1];
+        for (int i = 0; i < values.length; i++) {
+            System.arraycopy(this.matrix[i], 0, values[i], 0, columnNumber);
+            System.arraycopy(this.matrix[i], columnNumber + 1, values[i], columnNumber, values[i].length - columnNumber);
+        }
+        return Matrix.wrap(values, mathContext);
+    }
+
+    /**
+     * Raises the matrix to the given power by repeated squaring, which takes O(log n) products instead of n.
+     * A diagonal matrix only raises its diagonal, and a negative power raises the inverse
+     *
+     * @param exponent The power
+     * @return A new matrix holding this^exponent
+     */
+    public Matrix pow(long exponent) {
+        if (!this.isSquare()) {
+            throw new IllegalArgumentException("Powers are only defined for square matrices");
+        }
+        int n = this.rows();
+        if (this.structure().isDiagonal()) {
+            Matrix result = Matrix.identity(n).inContext(mathContext);
+            for (int i = 0; i < n; i++) {
+                result.matrix[i][i] = DecimalMath.pow(matrix[i][i], exponent, mathContext);
+            }
+            return result;
+        }
+
+        Matrix square = exponent < 0 ? this.inverse() : this;
+        Matrix result = null;
+        // Unsigned shifts, so even Long.MIN_VALUE has a magnitude
+        for (long k = Math.abs(exponent); k != 0; k >>>= 1) {
+            if ((k & 1) == 1) {
+                result = result == null ? square.copy() : result.multiply(square).limit();
+            }
+            if (k >>> 1 != 0) {
+                // Without a context products are exact, so unlimited squarings would double the scale every time
+                square = square.multiply(square).limit();
+            }
+        }
+        return result != null ? result : Matrix.identity(n).inContext(mathContext);
+    }
+
+    /**
+     * Bounds the size of every value of a freshly computed matrix, as {@link DecimalMath#limit} does for one value
+     *
+     * @return This matrix
+     */
+    private Matrix limit() {
+        for (BigDecimal[] row : matrix) {
+            for (int j = 0; j < row.length; j++) {
+                row[j] = DecimalMath.limit(row[j], mathContext);
+            }
+        }
+        this.invalidate();
+        return this;
+    }
+
+    /**
+     * Diagonalizes a symmetric matrix into P * D * P^-1, with orthonormal eigenvectors, through the
+     * Jacobi eigenvalue algorithm. Large powers of the matrix then cost a single product, through
+     * {@link Diagonalization#pow(long)}. Non-symmetric matrices can have complex eigenvalues, so they
+     * are left to {@link #pow(long)} or a {@link Diagonalization} built from a known eigendecomposition
+     *
+     * @return The diagonalization
+     */
+    public Diagonalization diagonalize() {
+        if (!this.isSymmetric()) {
+            throw new IllegalArgumentException("Only symmetric matrices can be diagonalized");
+        }
+        return Diagonalization.jacobi(matrix, mathContext);
+    }
+
+    /**
+     * Returns a view of this matrix that shares its values instead of copying them.
+     * Transposes, blocks, removed rows and columns, and exchanged columns of the view cost no copy of the values
+     *
+     * @return A view of the whole matrix
+     */
+    public MatrixView view() {
+        return new MatrixView(this);
     }
     //================================================================================================================//
     //                                           Utility Methods
@@ -644,15 +1434,38 @@ public class Matrix {
         return Arrays.deepEquals(this.matrix, matrix.matrix);
     }
 
+    @Override
+    public int hashCode() {
+        return Arrays.deepHashCode(matrix);
+    }
+
     public Matrix copy() {
-        return new Matrix(this.matrix);
+        return new Matrix(this.matrix).inContext(mathContext);
+    }
+
+    /**
+     * Converts this matrix into a primitive double matrix, losing any precision beyond a double
+     *
+     * @return A new {@link DoubleMatrix} holding the same values
+     */
+    public DoubleMatrix toDoubleMatrix() {
+        return new DoubleMatrix(this);
+    }
+
+    /**
+     * Converts this matrix into an exact rational matrix; no precision is lost
+     *
+     * @return A new {@link RationalMatrix} holding the same values
+     */
+    public RationalMatrix toRationalMatrix() {
+        return new RationalMatrix(this);
     }
 
     public static Matrix copy(Matrix matrix) {
         if (matrix == null) {
             return null;
         }
-        return new Matrix(matrix.matrix);
+        return matrix.copy();
     }
 
     private void stripTrailingZeros() {
@@ -0,0 +1,179 @@
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A bounded cache of derived results, shared across {@link Matrix} instances with equal contents.
+ * <p>
+ * Lookups hash the values of the matrix, so two separately built but equal matrices share one entry.
+ * Each entry is a private snapshot of the matrix, which memoizes its own factorization, determinant and inverse;
+ * the least recently used snapshot is evicted once the cache is full. Later changes to the queried matrix
+ * do not affect its snapshot.
+ * <p>
+ * A single cache can be shared between threads. Lookups are synchronized on the cache, and every query then runs
+ * while holding its snapshot's lock, so each result is computed once and its memo is safely published to every
+ * thread. Queries on different entries run in parallel; queries on the same entry run one at a time.
+ */
+public class MatrixCache {
+    private final int capacity;
+    private final Map<Key, Matrix> entries;
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates an empty cache
+     *
+     * @param capacity The most matrices to keep
+     */
+    public MatrixCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Matrix> eldest) {
+                return this.size() > MatrixCache.this.capacity;
+            }
+        };
+    }
+
+    //================================================================================================================//
+    //                                              Lookups
+    //================================================================================================================//
+
+    /**
+     * Returns the LU decomposition of a matrix, shared by every equal matrix
+     *
+     * @param matrix The square matrix
+     * @return The LU decomposition
+     */
+    public LUDecomposition lu(Matrix matrix) {
+        return this.query(matrix, Matrix::lu);
+    }
+
+    /**
+     * Returns the determinant of a matrix
+     *
+     * @param matrix The square matrix
+     * @return The determinant (BigDecimal)
+     */
+    public BigDecimal determinant(Matrix matrix) {
+        return this.query(matrix, Matrix::determinant);
+    }
+
+    /**
+     * Returns the inverse of a matrix
+     *
+     * @param matrix The square matrix
+     * @return A new matrix holding the inverse
+     */
+    public Matrix inverse(Matrix matrix) {
+        return this.query(matrix, Matrix::inverse);
+    }
+
+    /**
+     * Solves matrix * X = other for X, reusing the factorization of the matrix
+     *
+     * @param matrix The coefficient matrix
+     * @param other  The right-hand side
+     * @return The solution X
+     */
+    public Matrix solve(Matrix matrix, Matrix other) {
+        return this.query(matrix, snapshot -> snapshot.solve(other));
+    }
+
+    /**
+     * Runs a query on the snapshot of a matrix while holding the snapshot's lock. The snapshot memoizes into plain
+     * fields, so this lock is what publishes them safely, and keeps two threads from computing the same result
+     */
+    private <T> T query(Matrix matrix, Function<Matrix, T> query) {
+        Matrix snapshot = this.snapshot(matrix);
+        synchronized (snapshot) {
+            return query.apply(snapshot);
+        }
+    }
+
+    /**
+     * Finds the snapshot with the same contents, adding one if there is none
+     */
+    private Matrix snapshot(Matrix matrix) {
+        Key key = new Key(matrix);
+        synchronized (entries) {
+            Matrix snapshot = entries.get(key);
+            if (snapshot != null) {
+                hits++;
+                return snapshot;
+            }
+            misses++;
+            snapshot = matrix.copy();
+            entries.put(new Key(snapshot), snapshot);
+            return snapshot;
+        }
+    }
+
+    //================================================================================================================//
+    //                                              Getters
+    //================================================================================================================//
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public long hits() {
+        synchronized (entries) {
+            return hits;
+        }
+    }
+
+    public long misses() {
+        synchronized (entries) {
+            return misses;
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Equal contents and precision give equal keys. Stored keys wrap the snapshot itself, which never changes;
+     * lookup keys wrap the queried matrix, and only live for the lookup
+     */
+    private static final class Key {
+        private final Matrix values;
+        private final MathContext mathContext;
+        private final int hash;
+
+        Key(Matrix matrix) {
+            this.values = matrix;
+            this.mathContext = matrix.mathContext();
+            this.hash = 31 * values.hashCode() + Objects.hashCode(mathContext);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return hash == key.hash && values.equals(key.values)
+                    && Objects.equals(mathContext, key.mathContext);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,328 @@
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A lazily evaluated matrix expression, built with {@link Matrix#expr(Matrix)}:
+ * <pre>
+ *     Matrix result = Matrix.expr(a).times(b).times(c).plus(d).scale(k).evaluate();
+ * </pre>
+ * Nothing is computed until {@link #evaluate()}. Chains of products are flattened and multiplied in the order
+ * that needs the fewest scalar multiplications, found by dynamic programming over their dimensions. Element-wise
+ * steps -- sums, differences, scaling and transposes -- are fused into a single pass that writes each cell of the
+ * result once, so only the result and the products themselves are ever materialized.
+ * <p>
+ * Each step rounds with the precision of its left operand, just as the eager methods of {@link Matrix} do.
+ */
+public abstract class MatrixExpression {
+    private final int rows;
+    private final int columns;
+
+    private MatrixExpression(int rows, int columns) {
+        this.rows = rows;
+        this.columns = columns;
+    }
+
+    /**
+     * Starts an expression from a matrix. The matrix is read when the expression is evaluated, not before
+     *
+     * @param matrix The matrix
+     * @return The expression
+     */
+    static MatrixExpression of(Matrix matrix) {
+        return new Leaf(matrix);
+    }
+
+    //================================================================================================================//
+    //                                              Building
+    //================================================================================================================//
+
+    public MatrixExpression times(Matrix other) {
+        return this.times(of(other));
+    }
+
+    /**
+     * Multiplies this expression by another; consecutive products join one chain
+     *
+     * @param other The right-hand expression
+     * @return The product expression
+     */
+    public MatrixExpression times(MatrixExpression other) {
+        if (this.columns != other.rows) {
+            throw new IllegalArgumentException("Cannot multiply matrices of non compatible sizes\n" +
+                    "Expected other matrix to have " + this.columns + " rows\n");
+        }
+        List<MatrixExpression> factors = new ArrayList<>(this.factors());
+        factors.addAll(other.factors());
+        return new Product(factors);
+    }
+
+    public MatrixExpression plus(Matrix other) {
+        return this.plus(of(other));
+    }
+
+    public MatrixExpression plus(MatrixExpression other) {
+        return new Sum(this, other, false);
+    }
+
+    public MatrixExpression minus(Matrix other) {
+        return this.minus(of(other));
+    }
+
+    public MatrixExpression minus(MatrixExpression other) {
+        return new Sum(this, other, true);
+    }
+
+    /**
+     * Multiplies each value by the given value
+     *
+     * @param value The value
+     * @return The scaled expression
+     */
+    public MatrixExpression scale(double value) {
+        return new Scaled(this, value);
+    }
+
+    public MatrixExpression transpose() {
+        return new Transposed(this);
+    }
+
+    //================================================================================================================//
+    //                                             Evaluation
+    //================================================================================================================//
+
+    /**
+     * Evaluates the expression into a new matrix
+     *
+     * @return The result
+     */
+    public Matrix evaluate() {
+        Cells cells = this.prepare();
+        BigDecimal[][] values = new BigDecimal[rows][columns];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                values[i][j] = cells.get(i, j);
+            }
+        }
+        return Matrix.wrap(values, this.mathContext());
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int columns() {
+        return columns;
+    }
+
+    /**
+     * Materializes every product below this node, and returns a reader for the cells of this node
+     */
+    abstract Cells prepare();
+
+    /**
+     * The precision of the leftmost matrix, which the eager methods of {@link Matrix} would have used
+     */
+    abstract MathContext mathContext();
+
+    /**
+     * The factors this node contributes to a product chain
+     */
+    List<MatrixExpression> factors() {
+        return List.of(this);
+    }
+
+    /**
+     * Reads one cell of a prepared expression
+     */
+    interface Cells {
+        BigDecimal get(int row, int column);
+    }
+
+    //================================================================================================================//
+    //                                                Nodes
+    //================================================================================================================//
+
+    private static final class Leaf extends MatrixExpression {
+        private final Matrix matrix;
+
+        Leaf(Matrix matrix) {
+            super(matrix.rows(), matrix.columns());
+            this.matrix = matrix;
+        }
+
+        @Override
+        Cells prepare() {
+            return matrix::getBigDecimal;
+        }
+
+        @Override
+        MathContext mathContext() {
+            return matrix.mathContext();
+        }
+
+        @Override
+        public Matrix evaluate() {
+            return matrix.copy();
+        }
+    }
+
+    private static final class Product extends MatrixExpression {
+        private final List<MatrixExpression> factors;
+
+        Product(List<MatrixExpression> factors) {
+            super(factors.get(0).rows(), factors.get(factors.size() - 1).columns());
+            this.factors = factors;
+        }
+
+        @Override
+        List<MatrixExpression> factors() {
+            return factors;
+        }
+
+        @Override
+        MathContext mathContext() {
+            return factors.get(0).mathContext();
+        }
+
+        @Override
+        Cells prepare() {
+            return this.multiply()::getBigDecimal;
+        }
+
+        @Override
+        public Matrix evaluate() {
+            return this.multiply();
+        }
+
+        /**
+         * Multiplies the chain in its cheapest order
+         */
+        private Matrix multiply() {
+            int k = factors.size();
+            Matrix[] operands = new Matrix[k];
+            int[] dimensions = new int[k + 1];
+            for (int i = 0; i < k; i++) {
+                MatrixExpression factor = factors.get(i);
+                operands[i] = factor instanceof Leaf ? ((Leaf) factor).matrix : factor.evaluate();
+                dimensions[i] = factor.rows();
+            }
+            dimensions[k] = factors.get(k - 1).columns();
+            return multiply(operands, chainOrder(dimensions), 0, k - 1);
+        }
+
+        private static Matrix multiply(Matrix[] operands, int[][] split, int from, int to) {
+            if (from == to) {
+                return operands[from];
+            }
+            int middle = split[from][to];
+            return multiply(operands, split, from, middle).multiply(multiply(operands, split, middle + 1, to));
+        }
+
+        /**
+         * The classic matrix-chain dynamic program: cost[i][j] is the fewest scalar multiplications for the
+         * product of factors i..j, and split[i][j] is where its outermost product divides them
+         *
+         * @param dimensions Factor i is dimensions[i] x dimensions[i + 1]
+         * @return The split table
+         */
+        static int[][] chainOrder(int[] dimensions) {
+            int k = dimensions.length - 1;
+            long[][] cost = new long[k][k];
+            int[][] split = new int[k][k];
+            for (int length = 2; length <= k; length++) {
+                for (int i = 0; i + length - 1 < k; i++) {
+                    int j = i + length - 1;
+                    cost[i][j] = Long.MAX_VALUE;
+                    for (int m = i; m < j; m++) {
+                        long candidate = cost[i][m] + cost[m + 1][j]
+                                + (long) dimensions[i] * dimensions[m + 1] * dimensions[j + 1];
+                        // Ties keep the leftmost split, which matches plain left-to-right evaluation
+                        if (candidate < cost[i][j]) {
+                            cost[i][j] = candidate;
+                            split[i][j] = m;
+                        }
+                    }
+                }
+            }
+            return split;
+        }
+    }
+
+    private static final class Sum extends MatrixExpression {
+        private final MatrixExpression left;
+        private final MatrixExpression right;
+        private final boolean subtract;
+
+        Sum(MatrixExpression left, MatrixExpression right, boolean subtract) {
+            super(left.rows(), left.columns());
+            if (left.rows() != right.rows() || left.columns() != right.columns()) {
+                throw new IllegalArgumentException("Cannot " + (subtract ? "subtract" : "add")
+                        + " matrices of different sizes");
+            }
+            this.left = left;
+            this.right = right;
+            this.subtract = subtract;
+        }
+
+        @Override
+        Cells prepare() {
+            Cells a = left.prepare();
+            Cells b = right.prepare();
+            MathContext mc = this.mathContext();
+            return subtract
+                    ? (i, j) -> DecimalMath.subtract(a.get(i, j), b.get(i, j), mc)
+                    : (i, j) -> DecimalMath.add(a.get(i, j), b.get(i, j), mc);
+        }
+
+        @Override
+        MathContext mathContext() {
+            return left.mathContext();
+        }
+    }
+
+    private static final class Scaled extends MatrixExpression {
+        private final MatrixExpression operand;
+        private final double value;
+
+        Scaled(MatrixExpression operand, double value) {
+            super(operand.rows(), operand.columns());
+            this.operand = operand;
+            this.value = value;
+        }
+
+        @Override
+        Cells prepare() {
+            Cells a = operand.prepare();
+            BigDecimal bdValue = new BigDecimal(value);
+            MathContext mc = this.mathContext();
+            return (i, j) -> DecimalMath.multiply(a.get(i, j), bdValue, mc);
+        }
+
+        @Override
+        MathContext mathContext() {
+            return operand.mathContext();
+        }
+    }
+
+    private static final class Transposed extends MatrixExpression {
+        private final MatrixExpression operand;
+
+        Transposed(MatrixExpression operand) {
+            super(operand.columns(), operand.rows());
+            this.operand = operand;
+        }
+
+        @Override
+        Cells prepare() {
+            Cells a = operand.prepare();
+            return (i, j) -> a.get(j, i);
+        }
+
+        @Override
+        MathContext mathContext() {
+            return operand.mathContext();
+        }
+    }
+}
@@ -0,0 +1,578 @@
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads and writes matrices in a compact binary file format.
+ * <p>
+ * Every file starts with a 32 byte header, all little-endian:
+ * <pre>
+ *  0  int   magic, the bytes "MTRX"
+ *  4  int   format version, currently 1
+ *  8  int   element type: 0 for doubles, 1 for fixed-scale decimals
+ * 12  int   decimal scale, 0 for doubles
+ * 16  int   rows
+ * 20  int   columns
+ * 24  long  reserved, 0
+ * </pre>
+ * followed by rows * columns row-major elements of 8 bytes each, little-endian: IEEE-754 doubles, or the
+ * unscaled values of decimals as longs. Since every element has the same width, any cell is at a known offset.
+ * <p>
+ * Whole matrices go through {@link FileChannel#map}: {@link #map(Path)} opens a file of doubles as an
+ * {@link OffHeapMatrix} without reading it, so pages load lazily as rows are touched. {@link Writer} and
+ * {@link Reader} stream one row at a time instead, for matrices larger than memory.
+ */
+public final class MatrixFile {
+    static final int MAGIC = 0x5852544D;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 32;
+
+    public enum ElementType {
+        DOUBLE,
+        DECIMAL
+    }
+
+    private MatrixFile() {
+    }
+
+    //================================================================================================================//
+    //                                              Header
+    //================================================================================================================//
+
+    /**
+     * The size and element type of a matrix file
+     */
+    public static final class Header {
+        private final ElementType type;
+        private final int scale;
+        private final int rows;
+        private final int columns;
+
+        Header(ElementType type, int scale, int rows, int columns) {
+            if (rows < 0 || columns < 0) {
+                throw new IllegalArgumentException("Matrix size cannot be negative");
+            }
+            this.type = type;
+            this.scale = scale;
+            this.rows = rows;
+            this.columns = columns;
+        }
+
+        public ElementType type() {
+            return type;
+        }
+
+        /**
+         * Returns the number of decimal places kept by a file of decimals
+         *
+         * @return The scale, or 0 for doubles
+         */
+        public int scale() {
+            return scale;
+        }
+
+        public int rows() {
+            return rows;
+        }
+
+        public int columns() {
+            return columns;
+        }
+
+        long elements() {
+            return (long) rows * columns;
+        }
+
+        long fileSize() {
+            return HEADER_BYTES + this.elements() * Long.BYTES;
+        }
+
+        private ByteBuffer encode() {
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(type.ordinal()).putInt(scale)
+                    .putInt(rows).putInt(columns).putLong(0);
+            return buffer.flip();
+        }
+
+        private static Header decode(ByteBuffer buffer) throws IOException {
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a matrix file");
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported matrix file version " + version);
+            }
+            int type = buffer.getInt();
+            if (type < 0 || type >= ElementType.values().length) {
+                throw new IOException("Unknown element type " + type);
+            }
+            int scale = buffer.getInt();
+            int rows = buffer.getInt();
+            int columns = buffer.getInt();
+            if (rows < 0 || columns < 0) {
+                throw new IOException("Invalid matrix size " + rows + " x " + columns);
+            }
+            return new Header(ElementType.values()[type], scale, rows, columns);
+        }
+    }
+
+    /**
+     * Reads the header of a matrix file
+     *
+     * @param path The file
+     * @return The header
+     * @throws IOException If the file cannot be read, or is not a complete matrix file
+     */
+    public static Header header(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return readHeader(channel);
+        }
+    }
+
+    /**
+     * Reads and validates the header at the start of the channel, leaving the channel positioned at the data
+     */
+    private static Header readHeader(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES);
+        readFully(channel, buffer);
+        Header header = Header.decode(buffer.flip());
+        if (channel.size() < header.fileSize()) {
+            throw new EOFException("Matrix file is truncated; expected " + header.fileSize() + " bytes");
+        }
+        return header;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Matrix file is truncated");
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Maps the data of a file in chunks of {@link OffHeapMatrix#CHUNK_SHIFT} elements, the layout
+     * {@link OffHeapMatrix} expects
+     */
+    private static MappedByteBuffer[] mapData(FileChannel channel, FileChannel.MapMode mode, Header header)
+            throws IOException {
+        long elements = header.elements();
+        long chunkSize = 1L << OffHeapMatrix.CHUNK_SHIFT;
+        MappedByteBuffer[] buffers = new MappedByteBuffer[Math.toIntExact((elements + chunkSize - 1) / chunkSize)];
+        for (int i = 0; i < buffers.length; i++) {
+            long first = i * chunkSize;
+            long length = Math.min(chunkSize, elements - first);
+            buffers[i] = channel.map(mode, HEADER_BYTES + first * Long.BYTES, length * Long.BYTES);
+            buffers[i].order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return buffers;
+    }
+
+    //================================================================================================================//
+    //                                         Mapped Whole Matrices
+    //================================================================================================================//
+
+    /**
+     * Opens a file of doubles as a read-only off-heap matrix. Nothing is read up front; the operating system pages
+     * rows in as they are used, and drops them again under memory pressure
+     *
+     * @param path The file
+     * @return The mapped matrix, which the caller must close
+     * @throws IOException If the file cannot be read, or does not hold doubles
+     */
+    public static OffHeapMatrix map(Path path) throws IOException {
+        return map(path, false);
+    }
+
+    /**
+     * Opens a file of doubles as an off-heap matrix
+     *
+     * @param path     The file
+     * @param writable True to write every {@link OffHeapMatrix#set} straight through to the file;
+     *                 otherwise writes throw {@link java.nio.ReadOnlyBufferException}
+     * @return The mapped matrix, which the caller must close
+     * @throws IOException If the file cannot be opened, or does not hold doubles
+     */
+    public static OffHeapMatrix map(Path path, boolean writable) throws IOException {
+        StandardOpenOption[] options = writable
+                ? new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE}
+                : new StandardOpenOption[]{StandardOpenOption.READ};
+        // A mapping stays valid after its channel is closed
+        try (FileChannel channel = FileChannel.open(path, options)) {
+            Header header = readHeader(channel);
+            if (header.type() != ElementType.DOUBLE) {
+                throw new IOException("Only files of doubles can be mapped as an OffHeapMatrix");
+            }
+            FileChannel.MapMode mode = writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+            return new OffHeapMatrix(header.rows(), header.columns(), mapData(channel, mode, header),
+                    OffHeapMatrix.CHUNK_SHIFT);
+        }
+    }
+
+    /**
+     * Writes a primitive matrix as a file of doubles, replacing any existing file
+     *
+     * @param path   The file
+     * @param matrix The matrix
+     * @throws IOException If the file cannot be written
+     */
+    public static void write(Path path, DoubleMatrix matrix) throws IOException {
+        double[] data = matrix.data();
+        int columns = matrix.columns();
+        writeDoubles(path, matrix.rows(), columns,
+                (row, dest) -> System.arraycopy(data, row * columns, dest, 0, columns));
+    }
+
+    /**
+     * Writes an off-heap matrix as a file of doubles, replacing any existing file
+     *
+     * @param path   The file; must not be the file the matrix is mapped from
+     * @param matrix The matrix
+     * @throws IOException If the file cannot be written
+     */
+    public static void write(Path path, OffHeapMatrix matrix) throws IOException {
+        writeDoubles(path, matrix.rows(), matrix.columns(), matrix::getRow);
+    }
+
+    /**
+     * A source of rows, copied into the given array
+     */
+    private interface RowSource {
+        void read(int row, double[] dest);
+    }
+
+    private static void writeDoubles(Path path, int rows, int columns, RowSource source) throws IOException {
+        Header header = new Header(ElementType.DOUBLE, 0, rows, columns);
+        try (FileChannel channel = create(path, header)) {
+            MappedByteBuffer[] buffers = mapData(channel, FileChannel.MapMode.READ_WRITE, header);
+            try (OffHeapMatrix target = new OffHeapMatrix(rows, columns, buffers, OffHeapMatrix.CHUNK_SHIFT)) {
+                double[] row = new double[columns];
+                for (int i = 0; i < rows; i++) {
+                    source.read(i, row);
+                    target.setRow(i, row);
+                }
+                for (MappedByteBuffer buffer : buffers) {
+                    buffer.force();
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes a decimal matrix as a file of fixed-scale decimals, replacing any existing file.
+     * Values are rounded to the scale with {@link Matrix#roundingMode}
+     *
+     * @param path   The file
+     * @param matrix The matrix
+     * @param scale  The number of decimal places to keep
+     * @throws IOException         If the file cannot be written
+     * @throws ArithmeticException If a value at that scale does not fit in a long
+     */
+    public static void write(Path path, Matrix matrix, int scale) throws IOException {
+        Header header = new Header(ElementType.DECIMAL, scale, matrix.rows(), matrix.columns());
+        try (FileChannel channel = create(path, header)) {
+            MappedByteBuffer[] buffers = mapData(channel, FileChannel.MapMode.READ_WRITE, header);
+            LongBuffer[] chunks = longChunks(buffers);
+            long index = 0;
+            for (int i = 0; i < header.rows(); i++) {
+                for (int j = 0; j < header.columns(); j++, index++) {
+                    long unscaled = unscaled(matrix.getBigDecimal(i, j), scale);
+                    chunks[(int) (index >>> OffHeapMatrix.CHUNK_SHIFT)].put(chunkIndex(index), unscaled);
+                }
+            }
+            for (MappedByteBuffer buffer : buffers) {
+                buffer.force();
+            }
+        }
+    }
+
+    /**
+     * Reads a whole file into a decimal matrix; doubles are converted exactly as {@link BigDecimal#valueOf(double)}
+     *
+     * @param path The file
+     * @return The matrix
+     * @throws IOException If the file cannot be read
+     */
+    public static Matrix readMatrix(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Header header = readHeader(channel);
+            LongBuffer[] chunks = longChunks(mapData(channel, FileChannel.MapMode.READ_ONLY, header));
+            BigDecimal[][] values = new BigDecimal[header.rows()][header.columns()];
+            long index = 0;
+            for (BigDecimal[] row : values) {
+                for (int j = 0; j < row.length; j++, index++) {
+                    long bits = chunks[(int) (index >>> OffHeapMatrix.CHUNK_SHIFT)].get(chunkIndex(index));
+                    row[j] = decode(bits, header);
+                }
+            }
+            return Matrix.wrap(values, null);
+        }
+    }
+
+    /**
+     * Reads a whole file into a primitive matrix; decimals are converted with {@link BigDecimal#doubleValue()}
+     *
+     * @param path The file
+     * @return The matrix
+     * @throws IOException If the file cannot be read
+     */
+    public static DoubleMatrix readDoubleMatrix(Path path) throws IOException {
+        if (header(path).type() == ElementType.DECIMAL) {
+            return new DoubleMatrix(readMatrix(path));
+        }
+        try (OffHeapMatrix matrix = map(path)) {
+            return matrix.toDoubleMatrix();
+        }
+    }
+
+    private static FileChannel create(Path path, Header header) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            writeFully(channel, header.encode());
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return channel;
+    }
+
+    private static LongBuffer[] longChunks(MappedByteBuffer[] buffers) {
+        LongBuffer[] chunks = new LongBuffer[buffers.length];
+        for (int i = 0; i < buffers.length; i++) {
+            chunks[i] = buffers[i].asLongBuffer();
+        }
+        return chunks;
+    }
+
+    private static int chunkIndex(long index) {
+        return (int) (index & ((1L << OffHeapMatrix.CHUNK_SHIFT) - 1));
+    }
+
+    private static long unscaled(BigDecimal value, int scale) {
+        return value.setScale(scale, Matrix.roundingMode).unscaledValue().longValueExact();
+    }
+
+    private static BigDecimal decode(long bits, Header header) {
+        return header.type() == ElementType.DOUBLE
+                ? BigDecimal.valueOf(Double.longBitsToDouble(bits))
+                : BigDecimal.valueOf(bits, header.scale()).stripTrailingZeros();
+    }
+
+    //================================================================================================================//
+    //                                              Streaming
+    //================================================================================================================//
+
+    /**
+     * Creates a file of doubles to be written one row at a time
+     *
+     * @param path    The file, replaced if it exists
+     * @param rows    The number of rows that will be written
+     * @param columns The number of columns of every row
+     * @return The writer, which must be closed
+     * @throws IOException If the file cannot be created
+     */
+    public static Writer writer(Path path, int rows, int columns) throws IOException {
+        return new Writer(path, new Header(ElementType.DOUBLE, 0, rows, columns));
+    }
+
+    /**
+     * Creates a file of fixed-scale decimals to be written one row at a time
+     *
+     * @param path    The file, replaced if it exists
+     * @param rows    The number of rows that will be written
+     * @param columns The number of columns of every row
+     * @param scale   The number of decimal places to keep
+     * @return The writer, which must be closed
+     * @throws IOException If the file cannot be created
+     */
+    public static Writer writer(Path path, int rows, int columns, int scale) throws IOException {
+        return new Writer(path, new Header(ElementType.DECIMAL, scale, rows, columns));
+    }
+
+    /**
+     * Opens a file to be read one row at a time
+     *
+     * @param path The file
+     * @return The reader, which must be closed
+     * @throws IOException If the file cannot be read, or is not a complete matrix file
+     */
+    public static Reader reader(Path path) throws IOException {
+        return new Reader(path);
+    }
+
+    /**
+     * Appends rows to a new matrix file through a single row-sized buffer, so the matrix never has to be in memory
+     */
+    public static final class Writer implements AutoCloseable {
+        private final FileChannel channel;
+        private final Header header;
+        private final ByteBuffer buffer;
+        private int written;
+
+        private Writer(Path path, Header header) throws IOException {
+            this.header = header;
+            this.buffer = ByteBuffer.allocateDirect(header.columns() * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            this.channel = create(path, header);
+        }
+
+        public Header header() {
+            return header;
+        }
+
+        /**
+         * Appends the next row of a file of doubles
+         *
+         * @param values One value per column
+         * @throws IOException If the row cannot be written
+         */
+        public void writeRow(double[] values) throws IOException {
+            this.checkRow(values.length, ElementType.DOUBLE);
+            buffer.clear();
+            for (double value : values) {
+                buffer.putDouble(value);
+            }
+            this.flush();
+        }
+
+        /**
+         * Appends the next row of a file of decimals, rounding every value to the scale with
+         * {@link Matrix#roundingMode}
+         *
+         * @param values One value per column
+         * @throws IOException         If the row cannot be written
+         * @throws ArithmeticException If a value at the scale does not fit in a long
+         */
+        public void writeRow(BigDecimal[] values) throws IOException {
+            this.checkRow(values.length, ElementType.DECIMAL);
+            buffer.clear();
+            for (BigDecimal value : values) {
+                buffer.putLong(unscaled(value, header.scale()));
+            }
+            this.flush();
+        }
+
+        private void checkRow(int length, ElementType type) {
+            if (header.type() != type) {
+                throw new IllegalStateException("This file holds " + header.type() + " values");
+            }
+            if (length != header.columns()) {
+                throw new IllegalArgumentException("Expected a row of " + header.columns() + " values");
+            }
+            if (written == header.rows()) {
+                throw new IllegalStateException("All " + header.rows() + " rows have already been written");
+            }
+        }
+
+        private void flush() throws IOException {
+            writeFully(channel, buffer.flip());
+            written++;
+        }
+
+        /**
+         * Closes the file
+         *
+         * @throws IOException If fewer rows were written than the header promised; the file is left truncated
+         */
+        @Override
+        public void close() throws IOException {
+            if (!channel.isOpen()) {
+                return;
+            }
+            channel.close();
+            if (written < header.rows()) {
+                throw new IOException("Only " + written + " of " + header.rows() + " rows were written");
+            }
+        }
+    }
+
+    /**
+     * Reads the rows of a matrix file in order through a single row-sized buffer
+     */
+    public static final class Reader implements AutoCloseable {
+        private final FileChannel channel;
+        private final Header header;
+        private final ByteBuffer buffer;
+        private int read;
+
+        private Reader(Path path) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            try {
+                this.header = readHeader(channel);
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+            this.buffer = ByteBuffer.allocateDirect(header.columns() * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        public Header header() {
+            return header;
+        }
+
+        public boolean hasNextRow() {
+            return read < header.rows();
+        }
+
+        /**
+         * Reads the next row as doubles; decimals are converted with {@link BigDecimal#doubleValue()}
+         *
+         * @param dest An array of at least {@link Header#columns()} values
+         * @return The destination array
+         * @throws IOException If the row cannot be read
+         */
+        public double[] readRow(double[] dest) throws IOException {
+            this.fill();
+            for (int j = 0; j < header.columns(); j++) {
+                dest[j] = header.type() == ElementType.DOUBLE
+                        ? buffer.getDouble()
+                        : BigDecimal.valueOf(buffer.getLong(), header.scale()).doubleValue();
+            }
+            return dest;
+        }
+
+        /**
+         * Reads the next row as decimals; doubles are converted with {@link BigDecimal#valueOf(double)}
+         *
+         * @return The row
+         * @throws IOException If the row cannot be read
+         */
+        public BigDecimal[] readDecimalRow() throws IOException {
+            this.fill();
+            BigDecimal[] row = new BigDecimal[header.columns()];
+            for (int j = 0; j < row.length; j++) {
+                row[j] = decode(buffer.getLong(), header);
+            }
+            return row;
+        }
+
+        private void fill() throws IOException {
+            if (!this.hasNextRow()) {
+                throw new IllegalStateException("All " + header.rows() + " rows have already been read");
+            }
+            buffer.clear();
+            readFully(channel, buffer);
+            buffer.flip();
+            read++;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+import java.math.BigDecimal;
+
+/**
+ * The nonzero pattern of a matrix, summarized by its lower and upper bandwidths.
+ * <p>
+ * Every nonzero entry (i, j) satisfies -upperBandwidth <= i - j <= lowerBandwidth. A diagonal matrix has both
+ * bandwidths zero, a triangular matrix has one of them zero, and a tridiagonal matrix has both at most one.
+ * Detection is a single O(rows * columns) scan, which {@link Matrix} runs once and caches.
+ */
+public final class MatrixStructure {
+    private final int rows;
+    private final int columns;
+    private final int lowerBandwidth;
+    private final int upperBandwidth;
+
+    private MatrixStructure(int rows, int columns, int lowerBandwidth, int upperBandwidth) {
+        this.rows = rows;
+        this.columns = columns;
+        this.lowerBandwidth = lowerBandwidth;
+        this.upperBandwidth = upperBandwidth;
+    }
+
+    /**
+     * Scans the given values for their bandwidths; a zero matrix counts as diagonal
+     *
+     * @param values The values
+     * @return The structure
+     */
+    static MatrixStructure of(BigDecimal[][] values) {
+        int lower = 0;
+        int upper = 0;
+        for (int i = 0; i < values.length; i++) {
+            BigDecimal[] row = values[i];
+            // Only the entries outside the band found so far can widen it
+            for (int j = 0; j < Math.min(i - lower, row.length); j++) {
+                if (row[j].signum() != 0) {
+                    lower = i - j;
+                    break;
+                }
+            }
+            for (int j = row.length - 1; j > i + upper; j--) {
+                if (row[j].signum() != 0) {
+                    upper = j - i;
+                    break;
+                }
+            }
+        }
+        return new MatrixStructure(values.length, values.length == 0 ? 0 : values[0].length, lower, upper);
+    }
+
+    //================================================================================================================//
+    //                                              Queries
+    //================================================================================================================//
+
+    public boolean isDiagonal() {
+        return lowerBandwidth == 0 && upperBandwidth == 0;
+    }
+
+    public boolean isUpperTriangular() {
+        return lowerBandwidth == 0;
+    }
+
+    public boolean isLowerTriangular() {
+        return upperBandwidth == 0;
+    }
+
+    public boolean isTridiagonal() {
+        return lowerBandwidth <= 1 && upperBandwidth <= 1;
+    }
+
+    /**
+     * Checks if the band is narrow enough for band kernels to pay off: at most a quarter of each row
+     *
+     * @return True if the matrix is narrowly banded
+     */
+    public boolean isBanded() {
+        return (lowerBandwidth + upperBandwidth + 1) * 4 <= columns;
+    }
+
+    /**
+     * Checks if any of the specialized kernels apply
+     *
+     * @return True if the matrix is neither banded nor triangular
+     */
+    public boolean isGeneral() {
+        return !this.isBanded() && !this.isTridiagonal() && !this.isUpperTriangular() && !this.isLowerTriangular();
+    }
+
+    /**
+     * Returns the largest i - j of any nonzero entry (i, j)
+     *
+     * @return The lower bandwidth
+     */
+    public int lowerBandwidth() {
+        return lowerBandwidth;
+    }
+
+    /**
+     * Returns the largest j - i of any nonzero entry (i, j)
+     *
+     * @return The upper bandwidth
+     */
+    public int upperBandwidth() {
+        return upperBandwidth;
+    }
+
+    @Override
+    public String toString() {
+        String kind;
+        if (this.isDiagonal()) {
+            kind = "diagonal";
+        } else if (this.isUpperTriangular()) {
+            kind = upperBandwidth == 1 ? "upper bidiagonal" : "upper triangular";
+        } else if (this.isLowerTriangular()) {
+            kind = lowerBandwidth == 1 ? "lower bidiagonal" : "lower triangular";
+        } else if (this.isTridiagonal()) {
+            kind = "tridiagonal";
+        } else if (this.isBanded()) {
+            kind = "banded";
+        } else {
+            kind = "general";
+        }
+        return rows + "x" + columns + " " + kind + " (lower bandwidth " + lowerBandwidth
+                + ", upper bandwidth " + upperBandwidth + ")";
+    }
+}
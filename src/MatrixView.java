@@ -0,0 +1,370 @@
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * A lightweight view of a {@link Matrix} that shares its backing storage instead of copying it.
+ * <p>
+ * Transposing, taking blocks, deleting rows or columns and replacing columns only rearrange index maps,
+ * so each costs O(rows + columns) rather than O(rows * columns). Values are read through to the source matrix,
+ * so a view sees later changes to it. The first write to a view copies its values into storage of its own
+ * (copy-on-write), leaving the source untouched; {@link #copy()} materializes an independent matrix.
+ * <p>
+ * A view is laid out as a base selection of the source -- picked rows, picked columns, and replaced columns --
+ * which is optionally transposed.
+ */
+public final class MatrixView implements LinearOperator {
+    private BigDecimal[][] source;
+    /**
+     * Base row i reads source row rowIndex[i]; base column j reads source column columnIndex[j]
+     */
+    private int[] rowIndex;
+    private int[] columnIndex;
+    /**
+     * Base column j reads replacements[j] instead, if it is not null; the array itself may be null
+     */
+    private BigDecimal[][] replacements;
+    private boolean transposed;
+    /**
+     * Whether the source is private to this view, after a write
+     */
+    private boolean owned;
+    private final MathContext mathContext;
+
+    /**
+     * Creates a view of the whole matrix
+     *
+     * @param matrix The matrix
+     */
+    MatrixView(Matrix matrix) {
+        this(matrix.values(), range(0, matrix.rows()), range(0, matrix.columns()), null, false, matrix.mathContext());
+    }
+
+    private MatrixView(BigDecimal[][] source, int[] rowIndex, int[] columnIndex, BigDecimal[][] replacements,
+                       boolean transposed, MathContext mathContext) {
+        this.source = source;
+        this.rowIndex = rowIndex;
+        this.columnIndex = columnIndex;
+        this.replacements = replacements;
+        this.transposed = transposed;
+        this.mathContext = mathContext;
+    }
+
+    //================================================================================================================//
+    //                                              Views
+    //================================================================================================================//
+
+    /**
+     * Returns the transpose of this view, without copying any values
+     *
+     * @return The transposed view
+     */
+    public MatrixView transpose() {
+        return new MatrixView(source, rowIndex, columnIndex, replacements, !transposed, mathContext);
+    }
+
+    /**
+     * Returns the block of this view between the given rows and columns, without copying any values
+     *
+     * @param rowFrom    The first row, inclusive
+     * @param rowTo      The last row, exclusive
+     * @param columnFrom The first column, inclusive
+     * @param columnTo   The last column, exclusive
+     * @return The block view
+     */
+    public MatrixView submatrix(int rowFrom, int rowTo, int columnFrom, int columnTo) {
+        if (rowFrom < 0 || rowTo > this.rows() || rowFrom >= rowTo) {
+            throw new IllegalArgumentException("Invalid row range");
+        }
+        if (columnFrom < 0 || columnTo > this.columns() || columnFrom >= columnTo) {
+            throw new IllegalArgumentException("Invalid column range");
+        }
+        return this.select(range(rowFrom, rowTo), range(columnFrom, columnTo));
+    }
+
+    /**
+     * Returns the view of the given rows and columns, in the given order, without copying any values.
+     * Strided blocks, permutations and repeated lines are all selections
+     *
+     * @param rows    The rows to keep
+     * @param columns The columns to keep
+     * @return The selected view
+     */
+    public MatrixView select(int[] rows, int[] columns) {
+        if (rows.length == 0 || columns.length == 0) {
+            throw new IllegalArgumentException("A view must keep at least one row and one column");
+        }
+        for (int row : rows) {
+            if (row < 0 || row >= this.rows()) {
+                throw new IllegalArgumentException("Invalid row number");
+            }
+        }
+        for (int column : columns) {
+            if (column < 0 || column >= this.columns()) {
+                throw new IllegalArgumentException("Invalid column number");
+            }
+        }
+        // Selections are made in base coordinates; on a transposed view the roles swap
+        int[] baseRows = transposed ? columns : rows;
+        int[] baseColumns = transposed ? rows : columns;
+
+        int[] newRowIndex = new int[baseRows.length];
+        for (int i = 0; i < baseRows.length; i++) {
+            newRowIndex[i] = rowIndex[baseRows[i]];
+        }
+        int[] newColumnIndex = new int[baseColumns.length];
+        BigDecimal[][] newReplacements = null;
+        for (int j = 0; j < baseColumns.length; j++) {
+            newColumnIndex[j] = columnIndex[baseColumns[j]];
+            BigDecimal[] replacement = replacements == null ? null : replacements[baseColumns[j]];
+            if (replacement != null) {
+                if (newReplacements == null) {
+                    newReplacements = new BigDecimal[baseColumns.length][];
+                }
+                BigDecimal[] picked = new BigDecimal[baseRows.length];
+                for (int i = 0; i < baseRows.length; i++) {
+                    picked[i] = replacement[baseRows[i]];
+                }
+                newReplacements[j] = picked;
+            }
+        }
+        return new MatrixView(source, newRowIndex, newColumnIndex, newReplacements, transposed, mathContext);
+    }
+
+    /**
+     * Returns the view without the given row
+     *
+     * @param rowNumber The row number
+     * @return The view without the row
+     */
+    public MatrixView removeRow(int rowNumber) {
+        if (rowNumber < 0 || rowNumber >= this.rows()) {
+            throw new IllegalArgumentException("Invalid row number");
+        }
+        return this.select(without(this.rows(), rowNumber), range(0, this.columns()));
+    }
+
+    /**
+     * Returns the view without the given column
+     *
+     * @param columnNumber The column number
+     * @return The view without the column
+     */
+    public MatrixView removeColumn(int columnNumber) {
+        if (columnNumber < 0 || columnNumber >= this.columns()) {
+            throw new IllegalArgumentException("Invalid column number");
+        }
+        return this.select(range(0, this.rows()), without(this.columns(), columnNumber));
+    }
+
+    /**
+     * Returns the view with one column replaced by a column vector, as used by Cramer's rule.
+     * Only the vector is copied; on a transposed view, the values are materialized first
+     *
+     * @param columnNumber The column to replace
+     * @param otherMatrix  The column vector
+     * @return The view with the column replaced
+     */
+    public MatrixView exchangeColumn(int columnNumber, Matrix otherMatrix) {
+        if (columnNumber < 0 || columnNumber >= this.columns()) {
+            throw new IllegalArgumentException("Invalid column number");
+        }
+        if (otherMatrix == null) {
+            throw new IllegalArgumentException("No other matrix provided");
+        }
+        if (otherMatrix.columns() != 1 || otherMatrix.rows() != this.rows()) {
+            throw new IllegalArgumentException("Other matrix must be a column vector");
+        }
+        MatrixView base = transposed ? new MatrixView(this.toArray(), range(0, this.rows()),
+                range(0, this.columns()), null, false, mathContext) : this;
+
+        BigDecimal[][] newReplacements = base.replacements == null
+                ? new BigDecimal[base.columnIndex.length][]
+                : base.replacements.clone();
+        BigDecimal[] column = new BigDecimal[base.rowIndex.length];
+        for (int i = 0; i < column.length; i++) {
+            column[i] = otherMatrix.getBigDecimal(i, 0);
+        }
+        newReplacements[columnNumber] = column;
+        return new MatrixView(base.source, base.rowIndex, base.columnIndex, newReplacements, false, mathContext);
+    }
+
+    //================================================================================================================//
+    //                                           Linear Algebra
+    //================================================================================================================//
+
+    /**
+     * Factors the view into P * A = L * U. The values are gathered straight into the factorization's own storage
+     *
+     * @return The LU decomposition
+     */
+    public LUDecomposition lu() {
+        if (!this.isSquare()) {
+            throw new IllegalArgumentException("LU decomposition is only defined for square matrices");
+        }
+        return LUDecomposition.inPlace(this.toArray(), mathContext);
+    }
+
+    /**
+     * Returns the determinant of the view
+     *
+     * @return The determinant (BigDecimal)
+     */
+    public BigDecimal determinant() {
+        if (!this.isSquare()) {
+            throw new IllegalArgumentException("Determinant is only defined for square matrices");
+        }
+        return this.lu().determinant();
+    }
+
+    /**
+     * Solves view * X = other for X
+     *
+     * @param other The right-hand side
+     * @return The solution X
+     */
+    public Matrix solve(Matrix other) {
+        return this.lu().solve(other);
+    }
+
+    @Override
+    public void apply(double[] x, double[] y) {
+        if (x.length != this.columns() || y.length != this.rows()) {
+            throw new IllegalArgumentException("Vector lengths do not match the matrix");
+        }
+        for (int i = 0; i < y.length; i++) {
+            double sum = 0;
+            for (int j = 0; j < x.length; j++) {
+                sum += this.get(i, j) * x[j];
+            }
+            y[i] = sum;
+        }
+    }
+
+    //================================================================================================================//
+    //                                       Matrix Access Methods
+    //================================================================================================================//
+
+    /**
+     * Returns the value at the given row and column
+     *
+     * @param row    The row
+     * @param column The column
+     * @return The value
+     */
+    public double get(int row, int column) {
+        return this.getBigDecimal(row, column).doubleValue();
+    }
+
+    BigDecimal getBigDecimal(int row, int column) {
+        if (row < 0 || row >= this.rows() || column < 0 || column >= this.columns()) {
+            throw new IndexOutOfBoundsException("Index (" + row + ", " + column + ") is out of bounds");
+        }
+        return transposed ? this.base(column, row) : this.base(row, column);
+    }
+
+    private BigDecimal base(int row, int column) {
+        if (replacements != null && replacements[column] != null) {
+            return replacements[column][row];
+        }
+        return source[rowIndex[row]][columnIndex[column]];
+    }
+
+    /**
+     * Sets the value at the given row and column.
+     * The first write copies the values of the view, so the source matrix is never changed
+     *
+     * @param row    The row
+     * @param column The column
+     * @param value  The value
+     */
+    public void set(int row, int column, double value) {
+        this.set(row, column, new BigDecimal(value));
+    }
+
+    public void set(int row, int column, BigDecimal value) {
+        if (row < 0 || row >= this.rows() || column < 0 || column >= this.columns()) {
+            throw new IndexOutOfBoundsException("Index (" + row + ", " + column + ") is out of bounds");
+        }
+        if (!owned) {
+            source = this.toArray();
+            rowIndex = range(0, source.length);
+            columnIndex = range(0, source[0].length);
+            replacements = null;
+            transposed = false;
+            owned = true;
+        }
+        source[row][column] = value;
+    }
+
+    @Override
+    public double[] diagonal() {
+        double[] diagonal = new double[Math.min(this.rows(), this.columns())];
+        for (int i = 0; i < diagonal.length; i++) {
+            diagonal[i] = this.get(i, i);
+        }
+        return diagonal;
+    }
+
+    @Override
+    public int rows() {
+        return transposed ? columnIndex.length : rowIndex.length;
+    }
+
+    @Override
+    public int columns() {
+        return transposed ? rowIndex.length : columnIndex.length;
+    }
+
+    public boolean isSquare() {
+        return this.rows() == this.columns();
+    }
+
+    //================================================================================================================//
+    //                                           Utility Methods
+    //================================================================================================================//
+
+    /**
+     * Materializes the view into an independent matrix
+     *
+     * @return A new matrix holding the values of the view
+     */
+    public Matrix copy() {
+        return Matrix.wrap(this.toArray(), mathContext);
+    }
+
+    /**
+     * Gathers the values of the view into fresh rows
+     */
+    BigDecimal[][] toArray() {
+        BigDecimal[][] values = new BigDecimal[this.rows()][this.columns()];
+        for (int i = 0; i < values.length; i++) {
+            for (int j = 0; j < values[i].length; j++) {
+                values[i][j] = transposed ? this.base(j, i) : this.base(i, j);
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return this.copy().toString();
+    }
+
+    private static int[] range(int from, int to) {
+        int[] range = new int[to - from];
+        for (int i = 0; i < range.length; i++) {
+            range[i] = from + i;
+        }
+        return range;
+    }
+
+    private static int[] without(int length, int skipped) {
+        int[] indices = new int[length - 1];
+        for (int i = 0, k = 0; i < length; i++) {
+            if (i != skipped) {
+                indices[k++] = i;
+            }
+        }
+        return indices;
+    }
+}
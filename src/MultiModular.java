@@ -0,0 +1,362 @@
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Exact determinants and solutions of integer matrices through multi-modular arithmetic.
+ * <p>
+ * The matrix is reduced modulo many 31-bit primes, and each image is eliminated independently with plain
+ * {@code long} arithmetic -- these eliminations run in parallel across cores. The exact result is then
+ * reconstructed with the Chinese Remainder Theorem. A Hadamard bound on the size of the answer decides how many
+ * primes are needed, so the reconstruction is exact rather than probabilistic.
+ * <p>
+ * Solutions use Cramer's rule: det(A) * x = adj(A) * b is an integer vector bounded by the same Hadamard bound, so
+ * it is reconstructed directly and divided by the determinant at the end; no rational reconstruction is needed.
+ */
+public final class MultiModular {
+    /**
+     * Primes just below 2^31, so the product of two residues still fits in a long
+     */
+    private static final List<Long> PRIMES = new ArrayList<>();
+
+    private MultiModular() {
+    }
+
+    //================================================================================================================//
+    //                                              Public API
+    //================================================================================================================//
+
+    /**
+     * Returns the exact determinant of an integer matrix
+     *
+     * @param a The square integer matrix
+     * @return The determinant
+     */
+    public static BigInteger determinant(BigInteger[][] a) {
+        int n = checkSquare(a);
+        int bits = hadamardBits(a, null);
+        long[] primes = primes(primeCount(bits));
+        long[] residues = IntStream.range(0, primes.length).parallel()
+                .mapToLong(i -> determinantModulo(reduce(a, primes[i]), primes[i]))
+                .toArray();
+        return n == 0 ? BigInteger.ONE : reconstruct(new long[][]{residues}, primes)[0];
+    }
+
+    /**
+     * Returns the exact determinant of a matrix holding only integer values
+     *
+     * @param matrix The square integer matrix
+     * @return The determinant
+     */
+    public static BigDecimal determinant(Matrix matrix) {
+        return new BigDecimal(determinant(toIntegers(matrix)));
+    }
+
+    /**
+     * Solves A * X = B exactly, for integer A and B
+     *
+     * @param a The square integer matrix
+     * @param b The integer right-hand side
+     * @return The exact solution
+     * @throws ArithmeticException If the matrix is singular
+     */
+    public static RationalMatrix solve(BigInteger[][] a, BigInteger[][] b) {
+        int n = checkSquare(a);
+        if (b.length != n) {
+            throw new IllegalArgumentException("Cannot solve against a matrix with a different number of rows");
+        }
+        int m = b[0].length;
+        int bits = hadamardBits(a, b);
+        int needed = primeCount(bits);
+
+        // Images where p divides det(A) cannot be solved; skip those primes and take more
+        List<Long> goodPrimes = new ArrayList<>();
+        List<long[]> goodResidues = new ArrayList<>();
+        int used = 0;
+        while (goodPrimes.size() < needed) {
+            long[] batch = primes(used + needed - goodPrimes.size());
+            int from = used;
+            long[][] results = IntStream.range(from, batch.length).parallel()
+                    .mapToObj(i -> solveModulo(reduce(a, batch[i]), reduce(b, batch[i]), batch[i]))
+                    .toArray(long[][]::new);
+            for (int i = 0; i < results.length; i++) {
+                if (results[i] != null) {
+                    goodPrimes.add(batch[from + i]);
+                    goodResidues.add(results[i]);
+                }
+            }
+            used = batch.length;
+            // det(A) has fewer than bits / 30 prime factors this large, so many failures means det(A) is zero
+            if (used - goodPrimes.size() > needed) {
+                throw new ArithmeticException("Matrix is singular");
+            }
+        }
+
+        // Transpose to one residue array per unknown: index 0 is det(A), then det(A) * x, row by row
+        long[] primes = goodPrimes.stream().mapToLong(Long::longValue).toArray();
+        long[][] residues = new long[1 + n * m][primes.length];
+        for (int i = 0; i < primes.length; i++) {
+            long[] result = goodResidues.get(i);
+            for (int k = 0; k < result.length; k++) {
+                residues[k][i] = result[k];
+            }
+        }
+        BigInteger[] values = reconstruct(residues, primes);
+
+        BigInteger det = values[0];
+        Rational[][] x = new Rational[n][m];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < m; j++) {
+                x[i][j] = Rational.of(values[1 + i * m + j], det);
+            }
+        }
+        return new RationalMatrix(x);
+    }
+
+    /**
+     * Solves A * X = B exactly, for matrices holding only integer values
+     *
+     * @param a The square integer matrix
+     * @param b The integer right-hand side
+     * @return The exact solution
+     */
+    public static RationalMatrix solve(Matrix a, Matrix b) {
+        return solve(toIntegers(a), toIntegers(b));
+    }
+
+    //================================================================================================================//
+    //                                          Modular Elimination
+    //================================================================================================================//
+
+    /**
+     * Gaussian elimination modulo p, in place
+     *
+     * @return det(A) mod p
+     */
+    private static long determinantModulo(long[][] a, long p) {
+        int n = a.length;
+        long det = 1;
+        for (int k = 0; k < n; k++) {
+            int pivot = k;
+            while (pivot < n && a[pivot][k] == 0) {
+                pivot++;
+            }
+            if (pivot == n) {
+                return 0;
+            }
+            if (pivot != k) {
+                long[] temp = a[k];
+                a[k] = a[pivot];
+                a[pivot] = temp;
+                det = p - det;
+            }
+            det = det * a[k][k] % p;
+            long inverse = inverse(a[k][k], p);
+            for (int i = k + 1; i < n; i++) {
+                if (a[i][k] == 0) {
+                    continue;
+                }
+                long factor = a[i][k] * inverse % p;
+                for (int j = k; j < n; j++) {
+                    a[i][j] = Math.floorMod(a[i][j] - factor * a[k][j] % p, p);
+                }
+            }
+        }
+        return det % p;
+    }
+
+    /**
+     * Gauss-Jordan elimination of [A | B] modulo p, in place
+     *
+     * @return det(A) mod p followed by det(A) * X mod p row by row, or null if A is singular modulo p
+     */
+    private static long[] solveModulo(long[][] a, long[][] b, long p) {
+        int n = a.length;
+        int m = b[0].length;
+        long det = 1;
+        for (int k = 0; k < n; k++) {
+            int pivot = k;
+            while (pivot < n && a[pivot][k] == 0) {
+                pivot++;
+            }
+            if (pivot == n) {
+                return null;
+            }
+            if (pivot != k) {
+                long[] temp = a[k];
+                a[k] = a[pivot];
+                a[pivot] = temp;
+                temp = b[k];
+                b[k] = b[pivot];
+                b[pivot] = temp;
+                det = p - det;
+            }
+            det = det * a[k][k] % p;
+
+            long inverse = inverse(a[k][k], p);
+            for (int j = k; j < n; j++) {
+                a[k][j] = a[k][j] * inverse % p;
+            }
+            for (int j = 0; j < m; j++) {
+                b[k][j] = b[k][j] * inverse % p;
+            }
+            for (int i = 0; i < n; i++) {
+                long factor = a[i][k];
+                if (i == k || factor == 0) {
+                    continue;
+                }
+                for (int j = k; j < n; j++) {
+                    a[i][j] = Math.floorMod(a[i][j] - factor * a[k][j] % p, p);
+                }
+                for (int j = 0; j < m; j++) {
+                    b[i][j] = Math.floorMod(b[i][j] - factor * b[k][j] % p, p);
+                }
+            }
+        }
+
+        long[] result = new long[1 + n * m];
+        result[0] = det % p;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < m; j++) {
+                result[1 + i * m + j] = b[i][j] * result[0] % p;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Modular inverse by Fermat's little theorem, a^(p - 2) mod p
+     */
+    private static long inverse(long a, long p) {
+        long result = 1;
+        long base = a % p;
+        for (long exponent = p - 2; exponent > 0; exponent >>= 1) {
+            if ((exponent & 1) == 1) {
+                result = result * base % p;
+            }
+            base = base * base % p;
+        }
+        return result;
+    }
+
+    private static long[][] reduce(BigInteger[][] a, long p) {
+        BigInteger modulus = BigInteger.valueOf(p);
+        long[][] result = new long[a.length][];
+        for (int i = 0; i < a.length; i++) {
+            result[i] = new long[a[i].length];
+            for (int j = 0; j < a[i].length; j++) {
+                result[i][j] = a[i][j].bitLength() < 63
+                        ? Math.floorMod(a[i][j].longValue(), p)
+                        : a[i][j].mod(modulus).longValue();
+            }
+        }
+        return result;
+    }
+
+    //================================================================================================================//
+    //                                           Reconstruction
+    //================================================================================================================//
+
+    /**
+     * Chinese remaindering (Garner's mixed-radix form) of every residue array, mapped into the symmetric range
+     * (-M / 2, M / 2] so negative values come back out
+     */
+    private static BigInteger[] reconstruct(long[][] residues, long[] primes) {
+        BigInteger[] values = new BigInteger[residues.length];
+        for (int v = 0; v < residues.length; v++) {
+            BigInteger value = BigInteger.valueOf(residues[v][0]);
+            BigInteger modulus = BigInteger.valueOf(primes[0]);
+            for (int i = 1; i < primes.length; i++) {
+                long p = primes[i];
+                long current = value.mod(BigInteger.valueOf(p)).longValue();
+                long modulusInverse = inverse(modulus.mod(BigInteger.valueOf(p)).longValue(), p);
+                long step = Math.floorMod(residues[v][i] - current, p) * modulusInverse % p;
+                value = value.add(modulus.multiply(BigInteger.valueOf(step)));
+                modulus = modulus.multiply(BigInteger.valueOf(p));
+            }
+            if (value.shiftLeft(1).compareTo(modulus) > 0) {
+                value = value.subtract(modulus);
+            }
+            values[v] = value;
+        }
+        return values;
+    }
+
+    /**
+     * Bits in the Hadamard bound: |det| is at most the product of the column norms. With a right-hand side, any
+     * column may be swapped for a column of b (Cramer's rule), so each factor is the larger of the two norms
+     */
+    private static int hadamardBits(BigInteger[][] a, BigInteger[][] b) {
+        int n = a.length;
+        BigInteger bNorm = BigInteger.ZERO;
+        if (b != null) {
+            for (int j = 0; j < b[0].length; j++) {
+                BigInteger sum = BigInteger.ZERO;
+                for (BigInteger[] row : b) {
+                    sum = sum.add(row[j].multiply(row[j]));
+                }
+                bNorm = bNorm.max(sum);
+            }
+        }
+
+        int bits = 0;
+        for (int j = 0; j < n; j++) {
+            BigInteger sum = BigInteger.ZERO;
+            for (BigInteger[] row : a) {
+                sum = sum.add(row[j].multiply(row[j]));
+            }
+            // sqrt(sum) < 2^ceil(bitLength / 2)
+            bits += (sum.max(bNorm).bitLength() + 1) / 2;
+        }
+        return bits;
+    }
+
+    /**
+     * Primes are above 2^30, so each one adds at least 30 bits; one extra bit covers the sign
+     */
+    private static int primeCount(int bits) {
+        return Math.max(1, (bits + 1) / 30 + 1);
+    }
+
+    private static long[] primes(int count) {
+        synchronized (PRIMES) {
+            long candidate = PRIMES.isEmpty() ? (1L << 31) : PRIMES.get(PRIMES.size() - 1);
+            while (PRIMES.size() < count) {
+                candidate--;
+                if (BigInteger.valueOf(candidate).isProbablePrime(40)) {
+                    PRIMES.add(candidate);
+                }
+            }
+            return PRIMES.subList(0, count).stream().mapToLong(Long::longValue).toArray();
+        }
+    }
+
+    //================================================================================================================//
+    //                                           Utility Methods
+    //================================================================================================================//
+
+    private static int checkSquare(BigInteger[][] a) {
+        for (BigInteger[] row : a) {
+            if (row.length != a.length) {
+                throw new IllegalArgumentException("Matrix must be square");
+            }
+        }
+        return a.length;
+    }
+
+    private static BigInteger[][] toIntegers(Matrix matrix) {
+        BigInteger[][] result = new BigInteger[matrix.rows()][matrix.columns()];
+        for (int i = 0; i < matrix.rows(); i++) {
+            for (int j = 0; j < matrix.columns(); j++) {
+                try {
+                    result[i][j] = matrix.getBigDecimal(i, j).toBigIntegerExact();
+                } catch (ArithmeticException e) {
+                    throw new IllegalArgumentException("Matrix must only hold integer values", e);
+                }
+            }
+        }
+        return result;
+    }
+}
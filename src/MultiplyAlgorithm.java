@@ -0,0 +1,14 @@
+/**
+ * The algorithm used by {@link Matrix#multiply(Matrix, MultiplyAlgorithm)}
+ */
+public enum MultiplyAlgorithm {
+    /**
+     * The cache-blocked O(n^3) kernel; the same one {@link Matrix#multiply(Matrix)} uses
+     */
+    CLASSICAL,
+    /**
+     * Strassen-Winograd recursion -- 7 half-size products and 15 additions per level instead of 8 products.
+     * Falls back to the classical kernel once a dimension reaches the leaf size
+     */
+    STRASSEN
+}
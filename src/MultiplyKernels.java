@@ -0,0 +1,176 @@
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Cache-blocked matrix multiplication kernels shared by {@link Matrix} and {@link DoubleMatrix}.
+ * <p>
+ * The output is split into bands of rows, which are handed out to the common {@link ForkJoinPool}
+ * once the product is large enough to be worth it. Each band walks the inner dimension in tiles,
+ * so a tile of the right-hand matrix is reused across every row of the band while it is still in cache.
+ * The innermost loop of the primitive kernel is a {@link DoubleKernels} axpy, so it runs on SIMD lanes when available.
+ */
+final class MultiplyKernels {
+    /**
+     * Tile edge used for the primitive kernel; 64 * 64 doubles is 32KB, about one L1 data cache
+     */
+    static final int DOUBLE_BLOCK = 64;
+    /**
+     * Tile edge used for the decimal kernel; BigDecimal references point elsewhere on the heap anyway,
+     * so this mostly keeps each task reasonably sized
+     */
+    static final int DECIMAL_BLOCK = 32;
+
+    /**
+     * Products with fewer scalar multiplications than this stay on the calling thread
+     */
+    static final long DOUBLE_PARALLEL_THRESHOLD = 128L * 128 * 128;
+    static final long DECIMAL_PARALLEL_THRESHOLD = 24L * 24 * 24;
+
+    private MultiplyKernels() {
+    }
+
+    /**
+     * c = a * b, where c has already been allocated with a.length rows of b[0].length columns.
+     * Every output cell sums its products in ascending k, so the result is identical to the naive triple loop
+     *
+     * @param a  The left matrix
+     * @param b  The right matrix
+     * @param c  The output matrix; every cell is overwritten
+     * @param mc The precision of every product and sum, or null for exact arithmetic
+     */
+    static void multiply(BigDecimal[][] a, BigDecimal[][] b, BigDecimal[][] c, MathContext mc) {
+        int rows = a.length;
+        int inner = b.length;
+        int columns = c.length == 0 ? 0 : c[0].length;
+        long work = (long) rows * inner * columns;
+
+        RowRange band = (from, to) -> multiplyBand(a, b, c, mc, from, to);
+        if (work < DECIMAL_PARALLEL_THRESHOLD) {
+            band.run(0, rows);
+        } else {
+            ForkJoinPool.commonPool().invoke(new RowTask(band, 0, rows, grain(rows, DECIMAL_BLOCK)));
+        }
+    }
+
+    private static void multiplyBand(BigDecimal[][] a, BigDecimal[][] b, BigDecimal[][] c, MathContext mc,
+                                     int from, int to) {
+        int inner = b.length;
+        int columns = c[0].length;
+        for (int i = from; i < to; i++) {
+            for (int j = 0; j < columns; j++) {
+                c[i][j] = BigDecimal.ZERO;
+            }
+        }
+
+        for (int kBlock = 0; kBlock < inner; kBlock += DECIMAL_BLOCK) {
+            int kEnd = Math.min(kBlock + DECIMAL_BLOCK, inner);
+            for (int jBlock = 0; jBlock < columns; jBlock += DECIMAL_BLOCK) {
+                int jEnd = Math.min(jBlock + DECIMAL_BLOCK, columns);
+                for (int i = from; i < to; i++) {
+                    BigDecimal[] aRow = a[i];
+                    BigDecimal[] cRow = c[i];
+                    for (int k = kBlock; k < kEnd; k++) {
+                        BigDecimal aValue = aRow[k];
+                        BigDecimal[] bRow = b[k];
+                        for (int j = jBlock; j < jEnd; j++) {
+                            cRow[j] = DecimalMath.add(cRow[j], DecimalMath.multiply(aValue, bRow[j], mc), mc);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * c = a * b on flat row-major arrays; c must be zero filled
+     *
+     * @param a       The left matrix, rows x inner
+     * @param b       The right matrix, inner x columns
+     * @param c       The output matrix, rows x columns
+     * @param rows    Rows of a and c
+     * @param inner   Columns of a, rows of b
+     * @param columns Columns of b and c
+     */
+    static void multiply(double[] a, double[] b, double[] c, int rows, int inner, int columns) {
+        long work = (long) rows * inner * columns;
+
+        RowRange band = (from, to) -> multiplyBand(a, b, c, inner, columns, from, to);
+        if (work < DOUBLE_PARALLEL_THRESHOLD) {
+            band.run(0, rows);
+        } else {
+            ForkJoinPool.commonPool().invoke(new RowTask(band, 0, rows, grain(rows, DOUBLE_BLOCK)));
+        }
+    }
+
+    private static void multiplyBand(double[] a, double[] b, double[] c, int inner, int columns, int from, int to) {
+        DoubleKernels kernels = DoubleKernels.INSTANCE;
+        for (int kBlock = 0; kBlock < inner; kBlock += DOUBLE_BLOCK) {
+            int kEnd = Math.min(kBlock + DOUBLE_BLOCK, inner);
+            for (int jBlock = 0; jBlock < columns; jBlock += DOUBLE_BLOCK) {
+                int jEnd = Math.min(jBlock + DOUBLE_BLOCK, columns);
+                for (int i = from; i < to; i++) {
+                    int aRow = i * inner;
+                    int cRow = i * columns;
+                    for (int k = kBlock; k < kEnd; k++) {
+                        double aValue = a[aRow + k];
+                        if (aValue == 0) {
+                            continue;
+                        }
+                        kernels.axpy(aValue, b, k * columns + jBlock, c, cRow + jBlock, jEnd - jBlock);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Splits the rows so every worker gets several bands, but no band is smaller than a tile
+     */
+    private static int grain(int rows, int block) {
+        int perWorker = rows / (ForkJoinPool.getCommonPoolParallelism() * 4);
+        return Math.max(block, perWorker);
+    }
+
+    //================================================================================================================//
+    //                                              Fork-Join
+    //================================================================================================================//
+
+    /**
+     * A piece of work over a half-open range of rows
+     */
+    interface RowRange {
+        void run(int from, int to);
+    }
+
+    /**
+     * Recursively halves a row range until it is no larger than the grain, then runs it
+     */
+    static final class RowTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        // Tasks only ever run in-process, so the body is never serialized
+        private final transient RowRange body;
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        RowTask(RowRange body, int from, int to, int grain) {
+            this.body = body;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                body.run(from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RowTask(body, from, middle, grain), new RowTask(body, middle, to, grain));
+        }
+    }
+}
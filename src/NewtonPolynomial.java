@@ -0,0 +1,142 @@
+import java.util.Arrays;
+
+/**
+ * An interpolating polynomial in Newton form:
+ * p(x) = c0 + c1 * (x - x0) + c2 * (x - x0) * (x - x1) + ...
+ * <p>
+ * The coefficients are the divided differences of the points, which take O(n^2) time and O(n) memory to build,
+ * instead of the O(n^3) of solving the Vandermonde system. Evaluation is a nested, Horner-like O(n) loop.
+ */
+public class NewtonPolynomial {
+	private double[] nodes;
+	private double[] coefficients;
+	/**
+	 * The last row of the divided difference table: f[x(n-1)], f[x(n-2), x(n-1)], ..., f[x0, ..., x(n-1)].
+	 * This is all that is needed to add another point in O(n)
+	 */
+	private double[] lastRow;
+	private int size;
+
+	private NewtonPolynomial(int capacity) {
+		this.nodes = new double[Math.max(capacity, 4)];
+		this.coefficients = new double[nodes.length];
+		this.lastRow = new double[nodes.length];
+	}
+
+	/**
+	 * Creates the polynomial through all the given points
+	 *
+	 * @param inputs Array of pairs of inputs: [ [x, y], [x1, y1], [x2, y2], ... ]; every x must be distinct
+	 * @return The interpolating polynomial, or null if the input is incorrect
+	 */
+	public static NewtonPolynomial interpolate(double[][] inputs) {
+		NewtonPolynomial polynomial = new NewtonPolynomial(inputs.length);
+		for (double[] input : inputs) {
+			if (input.length != 2 || !polynomial.addPoint(input[0], input[1])) return null;
+		}
+		return polynomial;
+	}
+
+	/**
+	 * Extends the polynomial so it also passes through the given point, in O(n)
+	 *
+	 * @param x The x value; must differ from every x already added
+	 * @param y The y value
+	 * @return False (leaving the polynomial untouched) if x is already a node
+	 */
+	public boolean addPoint(double x, double y) {
+		for (int i = 0; i < size; i++) {
+			if (nodes[i] == x) return false;
+		}
+		if (size == nodes.length) {
+			nodes = Arrays.copyOf(nodes, size * 2);
+			coefficients = Arrays.copyOf(coefficients, size * 2);
+			lastRow = Arrays.copyOf(lastRow, size * 2);
+		}
+
+		// New row: t[0] = y, t[j] = (t[j - 1] - previous[j - 1]) / (x - x(n - j)), overwriting the previous row in place
+		double value = y;
+		for (int j = 1; j <= size; j++) {
+			double next = (value - lastRow[j - 1]) / (x - nodes[size - j]);
+			lastRow[j - 1] = value;
+			value = next;
+		}
+		lastRow[size] = value;
+
+		nodes[size] = x;
+		coefficients[size] = value;
+		size++;
+		return true;
+	}
+
+	/**
+	 * Evaluates the polynomial at x
+	 *
+	 * @param x The x value
+	 * @return p(x)
+	 */
+	public double evaluate(double x) {
+		if (size == 0) return 0;
+		double result = coefficients[size - 1];
+		for (int i = size - 2; i >= 0; i--) {
+			result = result * (x - nodes[i]) + coefficients[i];
+		}
+		return result;
+	}
+
+	/**
+	 * Expands the polynomial into monomial coefficients, in O(n^2)
+	 *
+	 * @return Each index is the x^n constant value, the same layout as {@link Solver#findPolynomial(double[][])}
+	 */
+	public double[] toMonomial() {
+		double[] result = new double[size];
+		if (size == 0) return result;
+
+		// Nested multiplication on whole polynomials: p = p * (x - x(i)) + c(i)
+		result[0] = coefficients[size - 1];
+		for (int i = size - 2; i >= 0; i--) {
+			int degree = size - 1 - i;
+			for (int j = degree; j > 0; j--) {
+				result[j] = result[j - 1] - nodes[i] * result[j];
+			}
+			result[0] = -nodes[i] * result[0] + coefficients[i];
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the Newton coefficients (divided differences) c0, c1, ...
+	 *
+	 * @return A copy of the coefficients
+	 */
+	public double[] coefficients() {
+		return Arrays.copyOf(coefficients, size);
+	}
+
+	/**
+	 * Returns the interpolation nodes x0, x1, ... in the order they were added
+	 *
+	 * @return A copy of the nodes
+	 */
+	public double[] nodes() {
+		return Arrays.copyOf(nodes, size);
+	}
+
+	public int degree() {
+		return size - 1;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < size; i++) {
+			if (i > 0) builder.append(" + ");
+			builder.append(coefficients[i]);
+			for (int j = 0; j < i; j++) {
+				builder.append(" * (x - ").append(nodes[j]).append(")");
+			}
+		}
+		return builder.toString();
+	}
+}
@@ -0,0 +1,650 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A dense matrix of doubles stored outside the Java heap, for matrices far larger than the heap could hold.
+ * <p>
+ * The values are row-major in direct buffers of {@code 2^27} doubles (1GB) each, addressed by a long index,
+ * so the garbage collector only ever sees a handful of small buffer objects however large the matrix is.
+ * Disjoint rows may be read and written from several threads at once, which is how {@link #multiply}
+ * and {@link #solve} split their work across the common fork-join pool.
+ * <p>
+ * {@link #close()} drops the buffers, and the garbage collector frees their memory once it collects them; the
+ * JDK 21 this project targets has no supported way to free a direct buffer sooner outside the preview FFM API.
+ * A closed matrix throws {@link IllegalStateException} on every later use. Operations already running on other
+ * threads when it is closed still finish, and the buffers are only dropped once the last of them has returned.
+ */
+public final class OffHeapMatrix implements LinearOperator, AutoCloseable {
+    /**
+     * log2 of the doubles per chunk; 2^27 doubles is 1GB, within the 2GB a single buffer can address
+     */
+    static final int CHUNK_SHIFT = 27;
+
+    /**
+     * Scratch rows held by one task of {@link #multiply} are kept to about this many bytes
+     */
+    private static final long BAND_BYTES = 1L << 22;
+
+    /**
+     * The bit of {@link #users} marking a closed matrix; the other bits count the operations still running
+     */
+    private static final int CLOSED = Integer.MIN_VALUE;
+
+    private final int rows;
+    private final int columns;
+    private final int shift;
+    private final ByteBuffer[] buffers;
+    private final DoubleBuffer[] chunks;
+    private final AtomicInteger users = new AtomicInteger();
+
+    //================================================================================================================//
+    //                                              Constructors
+    //================================================================================================================//
+
+    /**
+     * Allocates a zero matrix with the given rows and columns
+     *
+     * @param rows    The number of rows
+     * @param columns The number of columns
+     */
+    public OffHeapMatrix(int rows, int columns) {
+        this(rows, columns, CHUNK_SHIFT);
+    }
+
+    /**
+     * Allocates a zero matrix split into chunks of 2^shift doubles
+     */
+    OffHeapMatrix(int rows, int columns, int shift) {
+        this(rows, columns, allocate((long) rows * columns, shift), shift);
+    }
+
+    /**
+     * Wraps existing buffers, such as mapped regions of a file. Every buffer except the last holds exactly
+     * 2^shift doubles, and each must already have the byte order of its contents
+     *
+     * @param rows    The number of rows
+     * @param columns The number of columns
+     * @param buffers The row-major values; taken over by the matrix, which drops them on {@link #close()}
+     * @param shift   log2 of the doubles per buffer
+     */
+    OffHeapMatrix(int rows, int columns, ByteBuffer[] buffers, int shift) {
+        if (rows < 0 || columns < 0) {
+            throw new IllegalArgumentException("Matrix size cannot be negative");
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.shift = shift;
+        this.buffers = buffers;
+        this.chunks = new DoubleBuffer[buffers.length];
+
+        long capacity = 0;
+        for (int i = 0; i < buffers.length; i++) {
+            chunks[i] = buffers[i].asDoubleBuffer();
+            if (i < buffers.length - 1 && chunks[i].capacity() != 1 << shift) {
+                throw new IllegalArgumentException("Every chunk but the last must hold 2^" + shift + " values");
+            }
+            capacity += chunks[i].capacity();
+        }
+        if (capacity < (long) rows * columns) {
+            throw new IllegalArgumentException("Expected room for " + (long) rows * columns + " values, got " + capacity);
+        }
+    }
+
+    private static ByteBuffer[] allocate(long size, int shift) {
+        long chunkSize = 1L << shift;
+        ByteBuffer[] buffers = new ByteBuffer[Math.toIntExact((size + chunkSize - 1) >>> shift)];
+        for (int i = 0; i < buffers.length; i++) {
+            long length = Math.min(chunkSize, size - (long) i * chunkSize);
+            buffers[i] = ByteBuffer.allocateDirect(Math.toIntExact(length * Double.BYTES)).order(ByteOrder.nativeOrder());
+        }
+        return buffers;
+    }
+
+    /**
+     * Copies a primitive matrix off the heap
+     *
+     * @param matrix The matrix to copy
+     * @return The off-heap copy
+     */
+    public static OffHeapMatrix of(DoubleMatrix matrix) {
+        OffHeapMatrix result = new OffHeapMatrix(matrix.rows(), matrix.columns());
+        double[] data = matrix.data();
+        double[] row = new double[result.columns];
+        for (int i = 0; i < result.rows; i++) {
+            System.arraycopy(data, i * result.columns, row, 0, result.columns);
+            result.setRow(i, row);
+        }
+        return result;
+    }
+
+    /**
+     * Creates an identity matrix of the given size
+     *
+     * @param n The size
+     * @return The identity matrix
+     */
+    public static OffHeapMatrix identity(int n) {
+        OffHeapMatrix identity = new OffHeapMatrix(n, n);
+        for (int i = 0; i < n; i++) {
+            identity.set(i, i, 1);
+        }
+        return identity;
+    }
+
+    //================================================================================================================//
+    //                                         Row Operations
+    //================================================================================================================//
+
+    public void swapRows(int row1, int row2) {
+        this.checkRow(row1);
+        this.checkRow(row2);
+        if (row1 == row2) {
+            return;
+        }
+        this.acquire();
+        try {
+            double[] first = this.read((long) row1 * columns, new double[columns], 0, columns);
+            double[] second = this.read((long) row2 * columns, new double[columns], 0, columns);
+            this.write((long) row1 * columns, second, 0, columns);
+            this.write((long) row2 * columns, first, 0, columns);
+        } finally {
+            this.release();
+        }
+    }
+
+    public void multiplyRow(int row, double value) {
+        this.checkRow(row);
+        this.acquire();
+        try {
+            double[] values = this.read((long) row * columns, new double[columns], 0, columns);
+            DoubleKernels.INSTANCE.scale(value, values, 0, columns);
+            this.write((long) row * columns, values, 0, columns);
+        } finally {
+            this.release();
+        }
+    }
+
+    /**
+     * Adds the multiple of rowB onto rowA
+     */
+    public void addRows(int rowA, int rowB, double value) {
+        this.checkRow(rowA);
+        this.checkRow(rowB);
+        this.acquire();
+        try {
+            double[] target = this.read((long) rowA * columns, new double[columns], 0, columns);
+            double[] source = this.read((long) rowB * columns, new double[columns], 0, columns);
+            DoubleKernels.INSTANCE.axpy(value, source, 0, target, 0, columns);
+            this.write((long) rowA * columns, target, 0, columns);
+        } finally {
+            this.release();
+        }
+    }
+
+    //================================================================================================================//
+    //                                         Multiplication
+    //================================================================================================================//
+
+    /**
+     * Multiplies this matrix by another into a new off-heap matrix.
+     * Rows of this matrix are processed in bands; each row of the other matrix is read once per band and added
+     * onto every row of the band, so each output cell sums its products in ascending order, like
+     * {@link DoubleMatrix#multiply(DoubleMatrix)}
+     *
+     * @param other The right-hand matrix
+     * @return The product, which the caller must close
+     */
+    public OffHeapMatrix multiply(OffHeapMatrix other) {
+        if (this.columns != other.rows) {
+            throw new IllegalArgumentException("Cannot multiply matrices of non compatible sizes\n" +
+                    "Expected other matrix to have " + this.columns + " rows\n");
+        }
+        this.acquire();
+        try {
+            other.acquire();
+            try {
+                return this.multiplyOpen(other);
+            } finally {
+                other.release();
+            }
+        } finally {
+            this.release();
+        }
+    }
+
+    private OffHeapMatrix multiplyOpen(OffHeapMatrix other) {
+        int inner = this.columns;
+        int width = other.columns;
+        OffHeapMatrix result = new OffHeapMatrix(rows, width);
+        int band = (int) Math.max(1, Math.min(MultiplyKernels.DOUBLE_BLOCK,
+                BAND_BYTES / Double.BYTES / Math.max(1, inner + width)));
+
+        MultiplyKernels.RowRange body = (from, to) -> {
+            double[] a = new double[band * inner];
+            double[] c = new double[band * width];
+            double[] bRow = new double[width];
+            for (int start = from; start < to; start += band) {
+                int count = Math.min(band, to - start);
+                for (int i = 0; i < count; i++) {
+                    this.read((long) (start + i) * inner, a, i * inner, inner);
+                }
+                Arrays.fill(c, 0);
+                for (int k = 0; k < inner; k++) {
+                    boolean loaded = false;
+                    for (int i = 0; i < count; i++) {
+                        double aValue = a[i * inner + k];
+                        if (aValue == 0) {
+                            continue;
+                        }
+                        if (!loaded) {
+                            other.read((long) k * width, bRow, 0, width);
+                            loaded = true;
+                        }
+                        DoubleKernels.INSTANCE.axpy(aValue, bRow, 0, c, i * width, width);
+                    }
+                }
+                for (int i = 0; i < count; i++) {
+                    result.write((long) (start + i) * width, c, i * width, width);
+                }
+            }
+        };
+        runRows(body, rows, (long) rows * inner * width, band);
+        return result;
+    }
+
+    /**
+     * Multiplies this matrix by a vector
+     *
+     * @param x The input vector, one entry per column
+     * @param y The output vector, one entry per row; overwritten
+     */
+    @Override
+    public void apply(double[] x, double[] y) {
+        this.acquire();
+        try {
+            double[] row = new double[columns];
+            for (int i = 0; i < rows; i++) {
+                this.read((long) i * columns, row, 0, columns);
+                double sum = 0;
+                for (int j = 0; j < columns; j++) {
+                    sum += row[j] * x[j];
+                }
+                y[i] = sum;
+            }
+        } finally {
+            this.release();
+        }
+    }
+
+    //================================================================================================================//
+    //                                              Solving
+    //================================================================================================================//
+
+    /**
+     * Solves A * X = B by Gaussian elimination with partial pivoting. Both matrices are copied off the heap
+     * first and left untouched; the eliminations below each pivot are split across the common fork-join pool
+     *
+     * @param b The right-hand side; must have as many rows as this matrix
+     * @return The solution X, which the caller must close
+     */
+    public OffHeapMatrix solve(OffHeapMatrix b) {
+        if (rows != columns) {
+            throw new IllegalArgumentException("Can only solve square systems");
+        }
+        if (b.rows != rows) {
+            throw new IllegalArgumentException("Cannot solve against a matrix with a different number of rows");
+        }
+
+        int n = rows;
+        int m = b.columns;
+        OffHeapMatrix x = b.copy();
+        try (OffHeapMatrix a = this.copy()) {
+            double[] pivotRow = new double[n];
+            double[] pivotValues = new double[m];
+            for (int k = 0; k < n; k++) {
+                int pivot = k;
+                double largest = Math.abs(a.get(k, k));
+                for (int i = k + 1; i < n; i++) {
+                    double value = Math.abs(a.get(i, k));
+                    if (value > largest) {
+                        largest = value;
+                        pivot = i;
+                    }
+                }
+                if (largest == 0) {
+                    throw new ArithmeticException("Matrix is singular");
+                }
+                a.swapRows(k, pivot);
+                x.swapRows(k, pivot);
+
+                a.getRow(k, pivotRow);
+                x.getRow(k, pivotValues);
+                int pivotColumn = k;
+                int tail = n - k - 1;
+                MultiplyKernels.RowRange body = (from, to) -> {
+                    double[] row = new double[tail];
+                    double[] values = new double[m];
+                    for (int i = from; i < to; i++) {
+                        double factor = a.value((long) i * n + pivotColumn) / pivotRow[pivotColumn];
+                        if (factor == 0) {
+                            continue;
+                        }
+                        long offset = (long) i * n + pivotColumn + 1;
+                        a.read(offset, row, 0, tail);
+                        DoubleKernels.INSTANCE.axpy(-factor, pivotRow, pivotColumn + 1, row, 0, tail);
+                        a.write(offset, row, 0, tail);
+                        a.store((long) i * n + pivotColumn, 0);
+
+                        x.read((long) i * m, values, 0, m);
+                        DoubleKernels.INSTANCE.axpy(-factor, pivotValues, 0, values, 0, m);
+                        x.write((long) i * m, values, 0, m);
+                    }
+                };
+                runRows(body, n - k - 1, (long) (n - k - 1) * (tail + m), 1, k + 1);
+            }
+
+            // Back substitution, one row of X at a time
+            double[] row = new double[n];
+            double[] values = new double[m];
+            double[] solved = new double[m];
+            for (int i = n - 1; i >= 0; i--) {
+                a.getRow(i, row);
+                x.getRow(i, values);
+                for (int j = i + 1; j < n; j++) {
+                    if (row[j] != 0) {
+                        DoubleKernels.INSTANCE.axpy(-row[j], x.getRow(j, solved), 0, values, 0, m);
+                    }
+                }
+                for (int j = 0; j < m; j++) {
+                    values[j] /= row[i];
+                }
+                x.setRow(i, values);
+            }
+        } catch (RuntimeException e) {
+            x.close();
+            throw e;
+        }
+        return x;
+    }
+
+    //================================================================================================================//
+    //                                              Fork-Join
+    //================================================================================================================//
+
+    private static void runRows(MultiplyKernels.RowRange body, int count, long work, int grain) {
+        runRows(body, count, work, grain, 0);
+    }
+
+    /**
+     * Runs the body over count rows starting at the given one, in parallel once the work is large enough
+     */
+    private static void runRows(MultiplyKernels.RowRange body, int count, long work, int grain, int first) {
+        if (count <= 0) {
+            return;
+        }
+        if (work < MultiplyKernels.DOUBLE_PARALLEL_THRESHOLD) {
+            body.run(first, first + count);
+            return;
+        }
+        int perWorker = count / (ForkJoinPool.getCommonPoolParallelism() * 4);
+        ForkJoinPool.commonPool().invoke(
+                new MultiplyKernels.RowTask(body, first, first + count, Math.max(grain, perWorker)));
+    }
+
+    //================================================================================================================//
+    //                                       Matrix Access Methods
+    //================================================================================================================//
+
+    /**
+     * Returns the value at the given row and column
+     *
+     * @param row    The row
+     * @param column The column
+     * @return The value
+     */
+    public double get(int row, int column) {
+        long index = this.index(row, column);
+        this.acquire();
+        try {
+            return this.value(index);
+        } finally {
+            this.release();
+        }
+    }
+
+    /**
+     * Sets the value at the given row and column
+     *
+     * @param row    The row
+     * @param column The column
+     * @param value  The new value
+     */
+    public void set(int row, int column, double value) {
+        long index = this.index(row, column);
+        this.acquire();
+        try {
+            this.store(index, value);
+        } finally {
+            this.release();
+        }
+    }
+
+    /**
+     * Copies a row into the given array
+     *
+     * @param row  The row
+     * @param dest An array of at least {@link #columns()} values
+     * @return The destination array
+     */
+    public double[] getRow(int row, double[] dest) {
+        this.checkRow(row);
+        this.acquire();
+        try {
+            return this.read((long) row * columns, dest, 0, columns);
+        } finally {
+            this.release();
+        }
+    }
+
+    /**
+     * Overwrites a row with the given values
+     *
+     * @param row    The row
+     * @param values An array of at least {@link #columns()} values
+     */
+    public void setRow(int row, double[] values) {
+        this.checkRow(row);
+        this.acquire();
+        try {
+            this.write((long) row * columns, values, 0, columns);
+        } finally {
+            this.release();
+        }
+    }
+
+    // The accessors below skip the close guard; callers hold it through acquire and release
+
+    private double value(long index) {
+        return chunks[(int) (index >>> shift)].get((int) (index & this.mask()));
+    }
+
+    private void store(long index, double value) {
+        chunks[(int) (index >>> shift)].put((int) (index & this.mask()), value);
+    }
+
+    /**
+     * Copies a run of values starting at a flat index, which may span a chunk boundary
+     */
+    private double[] read(long index, double[] dest, int offset, int length) {
+        int chunkSize = 1 << shift;
+        while (length > 0) {
+            int inChunk = (int) (index & this.mask());
+            int count = Math.min(length, chunkSize - inChunk);
+            chunks[(int) (index >>> shift)].get(inChunk, dest, offset, count);
+            index += count;
+            offset += count;
+            length -= count;
+        }
+        return dest;
+    }
+
+    private void write(long index, double[] values, int offset, int length) {
+        int chunkSize = 1 << shift;
+        while (length > 0) {
+            int inChunk = (int) (index & this.mask());
+            int count = Math.min(length, chunkSize - inChunk);
+            chunks[(int) (index >>> shift)].put(inChunk, values, offset, count);
+            index += count;
+            offset += count;
+            length -= count;
+        }
+    }
+
+    private long mask() {
+        return (1L << shift) - 1;
+    }
+
+    private long index(int row, int column) {
+        if (row < 0 || row >= rows || column < 0 || column >= columns) {
+            throw new IndexOutOfBoundsException("Invalid position (" + row + ", " + column + ")");
+        }
+        return (long) row * columns + column;
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= rows) {
+            throw new IndexOutOfBoundsException("Invalid row " + row);
+        }
+    }
+
+    /**
+     * Registers a running operation, which keeps {@link #close()} from dropping the buffers until it is released
+     */
+    private void acquire() {
+        while (true) {
+            int state = users.get();
+            if (state < 0) {
+                throw new IllegalStateException("Matrix has been closed");
+            }
+            if (users.compareAndSet(state, state + 1)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Ends a running operation; the last one to end after the matrix was closed drops the buffers
+     */
+    private void release() {
+        if (users.decrementAndGet() == CLOSED) {
+            this.dropBuffers();
+        }
+    }
+
+    //================================================================================================================//
+    //                                      Getters and Setters (MISC)
+    //================================================================================================================//
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int columns() {
+        return columns;
+    }
+
+    @Override
+    public double[] diagonal() {
+        double[] diagonal = new double[Math.min(rows, columns)];
+        for (int i = 0; i < diagonal.length; i++) {
+            diagonal[i] = this.get(i, i);
+        }
+        return diagonal;
+    }
+
+    /**
+     * Returns the off-heap memory holding the values
+     *
+     * @return The size in bytes
+     */
+    public long byteSize() {
+        return (long) rows * columns * Double.BYTES;
+    }
+
+    public boolean isClosed() {
+        return users.get() < 0;
+    }
+
+    /**
+     * Copies this matrix into a new off-heap matrix
+     *
+     * @return The copy, which the caller must close
+     */
+    public OffHeapMatrix copy() {
+        this.acquire();
+        try {
+            OffHeapMatrix copy = new OffHeapMatrix(rows, columns, shift);
+            double[] row = new double[columns];
+            for (int i = 0; i < rows; i++) {
+                long index = (long) i * columns;
+                copy.write(index, this.read(index, row, 0, columns), 0, columns);
+            }
+            return copy;
+        } finally {
+            this.release();
+        }
+    }
+
+    /**
+     * Copies this matrix onto the heap
+     *
+     * @return The heap copy
+     */
+    public DoubleMatrix toDoubleMatrix() {
+        if ((long) rows * columns > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Matrix is too large to fit in a DoubleMatrix");
+        }
+        DoubleMatrix result = new DoubleMatrix(rows, columns);
+        this.acquire();
+        try {
+            this.read(0, result.data(), 0, rows * columns);
+        } finally {
+            this.release();
+        }
+        return result;
+    }
+
+    /**
+     * Drops the buffers, so their memory is freed as soon as the garbage collector reclaims them, even while this
+     * matrix object is still referenced. If operations are still running on other threads, the buffers are dropped
+     * as soon as the last of them returns. Closing twice does nothing
+     */
+    @Override
+    public void close() {
+        while (true) {
+            int state = users.get();
+            if (state < 0) {
+                return;
+            }
+            if (users.compareAndSet(state, state | CLOSED)) {
+                if (state == 0) {
+                    this.dropBuffers();
+                }
+                return;
+            }
+        }
+    }
+
+    private void dropBuffers() {
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = null;
+            chunks[i] = null;
+        }
+    }
+}
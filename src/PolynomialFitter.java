@@ -0,0 +1,201 @@
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * Incremental least-squares polynomial fit over a stream of points.
+ * <p>
+ * Keeps the running sums behind the normal equations -- sum of t^k for k up to 2 * degree, and sum of t^k * y for
+ * k up to degree, where t = (x - origin) / scale -- so {@link #addPoint(double, double)} and {@link #removeOldest()}
+ * cost O(degree) instead of a full re-fit. {@link #coefficients()} then solves the small (degree + 1) square system.
+ * Like {@link Solver#findPolynomial(double[][], int)}, t is kept within [-1, 1] so the powers stay comparable in
+ * size however the x values are spaced: a point beyond the current scale widens it, which only rescales each sum.
+ * Removing points subtracts from the sums, so they are rebuilt from the window (around a fresh origin and scale) once
+ * as many points have been removed as the window holds, which keeps rounding drift bounded at O(degree) amortized
+ * per update.
+ * <p>
+ * For an exact fit through every point, {@link NewtonPolynomial#addPoint(double, double)} extends the
+ * interpolating polynomial in O(n) instead.
+ */
+public class PolynomialFitter {
+	private final int degree;
+	private final ArrayDeque<double[]> window = new ArrayDeque<>();
+	private final double[] powerSums;
+	private final double[] momentSums;
+	private double origin;
+	/**
+	 * The largest |x - origin| seen since the last rebuild; zero while every x equals the origin
+	 */
+	private double scale;
+	private int removalsSinceRebuild;
+	private double[] cachedCoefficients;
+
+	/**
+	 * @param degree The degree of the fitted polynomial
+	 */
+	public PolynomialFitter(int degree) {
+		if (degree < 0) {
+			throw new IllegalArgumentException("Degree must not be negative");
+		}
+		this.degree = degree;
+		this.powerSums = new double[2 * degree + 1];
+		this.momentSums = new double[degree + 1];
+	}
+
+	/**
+	 * Adds a point to the end of the window
+	 *
+	 * @param x The x value
+	 * @param y The y value
+	 */
+	public void addPoint(double x, double y) {
+		if (window.isEmpty()) {
+			origin = x;
+			scale = 0;
+		}
+		double distance = Math.abs(x - origin);
+		if (distance > scale) {
+			rescale(distance);
+		}
+		window.addLast(new double[]{x, y});
+		accumulate(x, y, 1);
+		cachedCoefficients = null;
+	}
+
+	/**
+	 * Removes the oldest point from the window, for sliding-window fits
+	 *
+	 * @return The removed point as [x, y]
+	 */
+	public double[] removeOldest() {
+		double[] point = window.removeFirst();
+		cachedCoefficients = null;
+		if (++removalsSinceRebuild >= window.size()) {
+			rebuild();
+		} else {
+			accumulate(point[0], point[1], -1);
+		}
+		return point;
+	}
+
+	/**
+	 * Returns the least-squares coefficients for the current window
+	 *
+	 * @return Each index is the x^n constant value, for n = 0 up to the degree.
+	 * Returns null if the window holds too few distinct x values for the degree.
+	 */
+	public double[] coefficients() {
+		if (cachedCoefficients == null) {
+			cachedCoefficients = solve();
+		}
+		return cachedCoefficients == null ? null : cachedCoefficients.clone();
+	}
+
+	public int size() {
+		return window.size();
+	}
+
+	public int degree() {
+		return degree;
+	}
+
+	/**
+	 * Adds (sign = 1) or removes (sign = -1) a point's contribution to the sums
+	 */
+	private void accumulate(double x, double y, int sign) {
+		double t = scale == 0 ? 0 : (x - origin) / scale;
+		double pow = sign;
+		for (int k = 0; k < powerSums.length; k++) {
+			powerSums[k] += pow;
+			if (k < momentSums.length) {
+				momentSums[k] += pow * y;
+			}
+			pow *= t;
+		}
+	}
+
+	/**
+	 * Widens the scale; each sum of t^k only needs multiplying by (old scale / new scale)^k
+	 */
+	private void rescale(double newScale) {
+		double factor = scale / newScale;
+		double pow = 1;
+		for (int k = 0; k < powerSums.length; k++) {
+			powerSums[k] *= pow;
+			if (k < momentSums.length) {
+				momentSums[k] *= pow;
+			}
+			pow *= factor;
+		}
+		scale = newScale;
+	}
+
+	/**
+	 * Recomputes the sums from scratch, with t spanning [-1, 1] over the current window
+	 */
+	private void rebuild() {
+		Arrays.fill(powerSums, 0);
+		Arrays.fill(momentSums, 0);
+		removalsSinceRebuild = 0;
+		if (window.isEmpty()) {
+			return;
+		}
+		double min = Double.POSITIVE_INFINITY;
+		double max = Double.NEGATIVE_INFINITY;
+		for (double[] point : window) {
+			min = Math.min(min, point[0]);
+			max = Math.max(max, point[0]);
+		}
+		origin = (max + min) / 2;
+		scale = Math.max(max - origin, origin - min);
+		for (double[] point : window) {
+			accumulate(point[0], point[1], 1);
+		}
+	}
+
+	/**
+	 * Solves the normal equations (a Hankel matrix of power sums) with partial pivoting,
+	 * then maps the coefficients from t = (x - origin) / scale back to x
+	 */
+	private double[] solve() {
+		int n = degree + 1;
+		if (window.size() < n) return null;
+
+		double[][] a = new double[n][n + 1];
+		// A pivot is only negligible next to the entries of its own column, whatever the size of the others
+		double[] columnScale = new double[n];
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < n; j++) {
+				a[i][j] = powerSums[i + j];
+				columnScale[j] = Math.max(columnScale[j], Math.abs(a[i][j]));
+			}
+			a[i][n] = momentSums[i];
+		}
+
+		for (int k = 0; k < n; k++) {
+			int pivot = k;
+			for (int i = k + 1; i < n; i++) {
+				if (Math.abs(a[i][k]) > Math.abs(a[pivot][k])) pivot = i;
+			}
+			if (Math.abs(a[pivot][k]) <= 1e-12 * columnScale[k]) return null;
+			double[] temp = a[k];
+			a[k] = a[pivot];
+			a[pivot] = temp;
+			for (int i = k + 1; i < n; i++) {
+				double factor = a[i][k] / a[k][k];
+				for (int j = k; j <= n; j++) {
+					a[i][j] -= factor * a[k][j];
+				}
+			}
+		}
+		double[] shifted = new double[n];
+		for (int i = n - 1; i >= 0; i--) {
+			double value = a[i][n];
+			for (int j = i + 1; j < n; j++) {
+				value -= a[i][j] * shifted[j];
+			}
+			shifted[i] = value / a[i][i];
+		}
+
+		return Solver.unscale(shifted, origin, scale == 0 ? 1 : scale);
+	}
+}
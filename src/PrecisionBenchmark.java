@@ -0,0 +1,51 @@
+import java.math.MathContext;
+import java.util.Random;
+
+/**
+ * Times {@link Matrix#solve(Matrix, MathContext)} and {@link Matrix#determinant()} on the same random system
+ * at increasing precision, to show how the cost of the decimal arithmetic scales with the number of digits.
+ * Run with an optional matrix size (default 60) and number of repetitions (default 3).
+ */
+public class PrecisionBenchmark {
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 60;
+        int repetitions = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        Random random = new Random(42);
+        double[][] values = new double[size][size];
+        double[][] rightHandSide = new double[size][1];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                values[i][j] = random.nextInt(2000) / 100.0 - 10;
+            }
+            rightHandSide[i][0] = random.nextInt(2000) / 100.0 - 10;
+        }
+        Matrix matrix = new Matrix(values);
+        Matrix other = new Matrix(rightHandSide);
+
+        // Warm up the JIT before measuring anything
+        matrix.withPrecision(MathContext.DECIMAL64).solve(other);
+
+        System.out.printf("%dx%d system, best of %d%n", size, size, repetitions);
+        System.out.printf("%-10s %12s %12s%n", "digits", "solve (ms)", "det (ms)");
+        for (int digits : new int[]{10, 16, 34, 64, 128, 256}) {
+            Matrix precise = matrix.withPrecision(new MathContext(digits, Matrix.roundingMode));
+            System.out.printf("%-10d %12.2f %12.2f%n", digits,
+                    best(repetitions, () -> precise.solve(other)),
+                    best(repetitions, precise::determinant));
+        }
+        System.out.printf("%-10s %12.2f %12.2f%n", "default",
+                best(repetitions, () -> matrix.solve(other)),
+                best(repetitions, matrix::determinant));
+    }
+
+    private static double best(int repetitions, Runnable body) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < repetitions; i++) {
+            long start = System.nanoTime();
+            body.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1e6;
+    }
+}
@@ -0,0 +1,119 @@
+import java.util.Arrays;
+
+/**
+ * An approximation M of a matrix A that is cheap to invert. Solvers apply z = M^-1 * r every iteration
+ */
+public interface Preconditioner {
+    /**
+     * Computes z = M^-1 * r
+     *
+     * @param r The residual
+     * @param z The preconditioned residual; overwritten
+     */
+    void apply(double[] r, double[] z);
+
+    /**
+     * No preconditioning at all; z = r
+     *
+     * @return The identity preconditioner
+     */
+    static Preconditioner identity() {
+        return (r, z) -> System.arraycopy(r, 0, z, 0, r.length);
+    }
+
+    /**
+     * Jacobi (diagonal) preconditioning; z = r / diag(A)
+     *
+     * @param a The matrix
+     * @return The Jacobi preconditioner
+     */
+    static Preconditioner jacobi(LinearOperator a) {
+        double[] inverseDiagonal = a.diagonal();
+        for (int i = 0; i < inverseDiagonal.length; i++) {
+            if (inverseDiagonal[i] == 0) {
+                throw new ArithmeticException("Jacobi preconditioner requires a nonzero diagonal");
+            }
+            inverseDiagonal[i] = 1 / inverseDiagonal[i];
+        }
+        return (r, z) -> {
+            for (int i = 0; i < r.length; i++) {
+                z[i] = r[i] * inverseDiagonal[i];
+            }
+        };
+    }
+
+    /**
+     * Incomplete LU factorization with zero fill-in, ILU(0).
+     * L and U keep exactly the sparsity pattern of A, so applying it costs one pass over the nonzeros
+     *
+     * @param a The square sparse matrix
+     * @return The ILU(0) preconditioner
+     */
+    static Preconditioner ilu(SparseMatrix a) {
+        if (a.rows() != a.columns()) {
+            throw new IllegalArgumentException("ILU is only defined for square matrices");
+        }
+        int n = a.rows();
+        int[] rowPointers = a.rowPointers();
+        int[] columnIndices = a.columnIndices();
+        double[] lu = a.values().clone();
+
+        // Position of the diagonal entry in each row
+        int[] diagonal = new int[n];
+        for (int i = 0; i < n; i++) {
+            diagonal[i] = -1;
+            for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                if (columnIndices[p] == i) {
+                    diagonal[i] = p;
+                }
+            }
+            if (diagonal[i] < 0) {
+                throw new ArithmeticException("ILU requires every diagonal entry to be stored");
+            }
+        }
+
+        // Row i's position of each column, so fill-in outside the pattern is simply dropped
+        int[] position = new int[n];
+        Arrays.fill(position, -1);
+        for (int i = 0; i < n; i++) {
+            for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                position[columnIndices[p]] = p;
+            }
+            for (int p = rowPointers[i]; p < diagonal[i]; p++) {
+                int k = columnIndices[p];
+                if (lu[diagonal[k]] == 0) {
+                    throw new ArithmeticException("Zero pivot in ILU factorization");
+                }
+                lu[p] /= lu[diagonal[k]];
+                for (int q = diagonal[k] + 1; q < rowPointers[k + 1]; q++) {
+                    int target = position[columnIndices[q]];
+                    if (target >= 0) {
+                        lu[target] -= lu[p] * lu[q];
+                    }
+                }
+            }
+            for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                position[columnIndices[p]] = -1;
+            }
+        }
+
+        return (r, z) -> {
+            // L * y = r, with L unit lower triangular
+            for (int i = 0; i < n; i++) {
+                double sum = r[i];
+                for (int p = rowPointers[i]; p < diagonal[i]; p++) {
+                    sum -= lu[p] * z[columnIndices[p]];
+                }
+                z[i] = sum;
+            }
+            // U * z = y
+            for (int i = n - 1; i >= 0; i--) {
+                double sum = z[i];
+                for (int p = diagonal[i] + 1; p < rowPointers[i + 1]; p++) {
+                    sum -= lu[p] * z[columnIndices[p]];
+                }
+                z[i] = sum / lu[diagonal[i]];
+            }
+        };
+    }
+}
@@ -0,0 +1,169 @@
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+/**
+ * An exact fraction of two BigIntegers, always kept in lowest terms with a positive denominator
+ */
+public final class Rational implements Comparable<Rational> {
+    public static final Rational ZERO = new Rational(BigInteger.ZERO, BigInteger.ONE);
+    public static final Rational ONE = new Rational(BigInteger.ONE, BigInteger.ONE);
+
+    private final BigInteger numerator;
+    private final BigInteger denominator;
+
+    private Rational(BigInteger numerator, BigInteger denominator) {
+        this.numerator = numerator;
+        this.denominator = denominator;
+    }
+
+    //================================================================================================================//
+    //                                          Static Constructors
+    //================================================================================================================//
+
+    /**
+     * Creates the fraction numerator / denominator, reduced to lowest terms
+     *
+     * @param numerator   The numerator
+     * @param denominator The denominator; must not be zero
+     * @return The fraction
+     */
+    public static Rational of(BigInteger numerator, BigInteger denominator) {
+        if (denominator.signum() == 0) {
+            throw new ArithmeticException("Denominator is zero");
+        }
+        if (denominator.signum() < 0) {
+            numerator = numerator.negate();
+            denominator = denominator.negate();
+        }
+        BigInteger gcd = numerator.gcd(denominator);
+        if (!gcd.equals(BigInteger.ONE) && gcd.signum() != 0) {
+            numerator = numerator.divide(gcd);
+            denominator = denominator.divide(gcd);
+        }
+        return new Rational(numerator, denominator);
+    }
+
+    public static Rational of(long numerator, long denominator) {
+        return of(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+    }
+
+    public static Rational valueOf(BigInteger value) {
+        return new Rational(value, BigInteger.ONE);
+    }
+
+    public static Rational valueOf(long value) {
+        return valueOf(BigInteger.valueOf(value));
+    }
+
+    /**
+     * Converts a decimal exactly; 1.25 becomes 5/4
+     *
+     * @param value The decimal
+     * @return The equal fraction
+     */
+    public static Rational valueOf(BigDecimal value) {
+        if (value.scale() <= 0) {
+            return valueOf(value.toBigIntegerExact());
+        }
+        return of(value.unscaledValue(), BigInteger.TEN.pow(value.scale()));
+    }
+
+    //================================================================================================================//
+    //                                              Arithmetic
+    //================================================================================================================//
+
+    public Rational add(Rational other) {
+        if (this.denominator.equals(other.denominator)) {
+            return of(this.numerator.add(other.numerator), this.denominator);
+        }
+        return of(this.numerator.multiply(other.denominator).add(other.numerator.multiply(this.denominator)),
+                this.denominator.multiply(other.denominator));
+    }
+
+    public Rational subtract(Rational other) {
+        return this.add(other.negate());
+    }
+
+    public Rational multiply(Rational other) {
+        return of(this.numerator.multiply(other.numerator), this.denominator.multiply(other.denominator));
+    }
+
+    public Rational divide(Rational other) {
+        return of(this.numerator.multiply(other.denominator), this.denominator.multiply(other.numerator));
+    }
+
+    public Rational negate() {
+        return new Rational(numerator.negate(), denominator);
+    }
+
+    public int signum() {
+        return numerator.signum();
+    }
+
+    //================================================================================================================//
+    //                                              Conversion
+    //================================================================================================================//
+
+    public BigInteger numerator() {
+        return numerator;
+    }
+
+    public BigInteger denominator() {
+        return denominator;
+    }
+
+    public boolean isInteger() {
+        return denominator.equals(BigInteger.ONE);
+    }
+
+    /**
+     * Converts to a decimal, rounded to the given precision
+     *
+     * @param mathContext The precision
+     * @return The nearest decimal
+     */
+    public BigDecimal toBigDecimal(MathContext mathContext) {
+        return new BigDecimal(numerator).divide(new BigDecimal(denominator), mathContext);
+    }
+
+    /**
+     * Converts to a decimal without any rounding
+     *
+     * @return The equal decimal
+     * @throws ArithmeticException If the fraction has no terminating decimal expansion, like 1/3
+     */
+    public BigDecimal toBigDecimalExact() {
+        return new BigDecimal(numerator).divide(new BigDecimal(denominator));
+    }
+
+    public double doubleValue() {
+        return this.toBigDecimal(MathContext.DECIMAL64).doubleValue();
+    }
+
+    //================================================================================================================//
+    //                                           Utility Methods
+    //================================================================================================================//
+
+    @Override
+    public int compareTo(Rational other) {
+        return this.numerator.multiply(other.denominator).compareTo(other.numerator.multiply(this.denominator));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        Rational rational = (Rational) o;
+        return numerator.equals(rational.numerator) && denominator.equals(rational.denominator);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * numerator.hashCode() + denominator.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return this.isInteger() ? numerator.toString() : numerator + "/" + denominator;
+    }
+}
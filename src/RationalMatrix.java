@@ -0,0 +1,295 @@
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Arrays;
+
+/**
+ * An exact matrix of {@link Rational} values.
+ * <p>
+ * Determinants, solutions and inverses come from fraction-free Bareiss elimination: each row is first scaled to
+ * integers, and every elimination step divides exactly by the previous pivot. Intermediate values stay integers
+ * no larger than a minor of the matrix, so there is no rounding, no gcd work inside the elimination, and no
+ * unbounded growth of decimal scales. Only the final back substitution works with fractions.
+ */
+public class RationalMatrix {
+    private final Rational[][] matrix;
+
+    //================================================================================================================//
+    //                                              Constructors
+    //================================================================================================================//
+    public RationalMatrix(Rational[][] matrix) {
+        this.matrix = new Rational[matrix.length][];
+        int rowLength = matrix[0].length;
+        for (int i = 0; i < matrix.length; i++) {
+            if (matrix[i].length != rowLength) {
+                throw new IllegalArgumentException("All rows must have the same length");
+            }
+            this.matrix[i] = matrix[i].clone();
+        }
+    }
+
+    public RationalMatrix(long[][] matrix) {
+        this.matrix = new Rational[matrix.length][];
+        int rowLength = matrix[0].length;
+        for (int i = 0; i < matrix.length; i++) {
+            if (matrix[i].length != rowLength) {
+                throw new IllegalArgumentException("All rows must have the same length");
+            }
+            this.matrix[i] = new Rational[rowLength];
+            for (int j = 0; j < rowLength; j++) {
+                this.matrix[i][j] = Rational.valueOf(matrix[i][j]);
+            }
+        }
+    }
+
+    /**
+     * Creates an exact copy of a decimal matrix; every decimal is converted without rounding
+     *
+     * @param matrix The matrix to convert
+     */
+    public RationalMatrix(Matrix matrix) {
+        this.matrix = new Rational[matrix.rows()][matrix.columns()];
+        for (int i = 0; i < matrix.rows(); i++) {
+            for (int j = 0; j < matrix.columns(); j++) {
+                this.matrix[i][j] = Rational.valueOf(matrix.getBigDecimal(i, j));
+            }
+        }
+    }
+
+    //================================================================================================================//
+    //                                          Static Constructors
+    //================================================================================================================//
+
+    /**
+     * Creates an identity matrix of the given size
+     *
+     * @param n The size
+     * @return A new NxN identity matrix
+     */
+    public static RationalMatrix identity(int n) {
+        Rational[][] values = new Rational[n][n];
+        for (int i = 0; i < n; i++) {
+            Arrays.fill(values[i], Rational.ZERO);
+            values[i][i] = Rational.ONE;
+        }
+        return new RationalMatrix(values);
+    }
+
+    //================================================================================================================//
+    //                                           Exact Elimination
+    //================================================================================================================//
+
+    /**
+     * Returns the exact determinant
+     *
+     * @return The determinant
+     */
+    public Rational determinant() {
+        if (!this.isSquare()) {
+            throw new IllegalArgumentException("Determinant is only defined for square matrices");
+        }
+        int n = this.rows();
+        BigInteger[][] a = new BigInteger[n][];
+        BigInteger scale = BigInteger.ONE;
+        for (int i = 0; i < n; i++) {
+            BigInteger rowScale = commonDenominator(matrix[i]);
+            a[i] = scaleRow(matrix[i], rowScale);
+            scale = scale.multiply(rowScale);
+        }
+
+        BigInteger det = bareiss(a, n);
+        return Rational.of(det, scale);
+    }
+
+    /**
+     * Solves this * X = other for X exactly
+     *
+     * @param other The right-hand side
+     * @return The solution X
+     * @throws ArithmeticException If the matrix is singular
+     */
+    public RationalMatrix solve(RationalMatrix other) {
+        if (!this.isSquare()) {
+            throw new IllegalArgumentException("Solve is only defined for square matrices");
+        }
+        if (this.rows() != other.rows()) {
+            throw new IllegalArgumentException("Cannot solve against a matrix with a different number of rows");
+        }
+        int n = this.rows();
+        int m = other.columns();
+
+        // Augment [A | B], and scale each augmented row to integers -- this does not change the solution
+        BigInteger[][] a = new BigInteger[n][];
+        for (int i = 0; i < n; i++) {
+            Rational[] row = Arrays.copyOf(matrix[i], n + m);
+            System.arraycopy(other.matrix[i], 0, row, n, m);
+            a[i] = scaleRow(row, commonDenominator(row));
+        }
+
+        if (bareiss(a, n).signum() == 0) {
+            throw new ArithmeticException("Matrix is singular");
+        }
+
+        // a is now upper triangular on its first n columns; back substitute each right-hand column
+        Rational[][] x = new Rational[n][m];
+        for (int column = 0; column < m; column++) {
+            for (int i = n - 1; i >= 0; i--) {
+                Rational value = Rational.valueOf(a[i][n + column]);
+                for (int k = i + 1; k < n; k++) {
+                    if (a[i][k].signum() != 0) {
+                        value = value.subtract(Rational.valueOf(a[i][k]).multiply(x[k][column]));
+                    }
+                }
+                x[i][column] = value.divide(Rational.valueOf(a[i][i]));
+            }
+        }
+        return new RationalMatrix(x);
+    }
+
+    /**
+     * Returns the exact inverse
+     *
+     * @return The inverse
+     * @throws ArithmeticException If the matrix is singular
+     */
+    public RationalMatrix inverse() {
+        return this.solve(RationalMatrix.identity(this.rows()));
+    }
+
+    /**
+     * Fraction-free forward elimination over the first n columns, in place.
+     * Step k replaces a[i][j] with (a[i][j] * a[k][k] - a[i][k] * a[k][j]) / previousPivot, which is always exact
+     *
+     * @param a The integer rows; may be wider than n (an augmented right-hand side)
+     * @param n The number of columns to eliminate
+     * @return The determinant of the first n columns, zero if they are singular
+     */
+    private static BigInteger bareiss(BigInteger[][] a, int n) {
+        int width = a[0].length;
+        BigInteger previousPivot = BigInteger.ONE;
+        int sign = 1;
+
+        for (int k = 0; k < n; k++) {
+            if (a[k][k].signum() == 0) {
+                int swap = k + 1;
+                while (swap < n && a[swap][k].signum() == 0) {
+                    swap++;
+                }
+                if (swap == n) {
+                    return BigInteger.ZERO;
+                }
+                BigInteger[] temp = a[k];
+                a[k] = a[swap];
+                a[swap] = temp;
+                sign = -sign;
+            }
+
+            BigInteger pivot = a[k][k];
+            for (int i = k + 1; i < n; i++) {
+                BigInteger factor = a[i][k];
+                for (int j = k + 1; j < width; j++) {
+                    a[i][j] = a[i][j].multiply(pivot).subtract(factor.multiply(a[k][j])).divide(previousPivot);
+                }
+                a[i][k] = BigInteger.ZERO;
+            }
+            previousPivot = pivot;
+        }
+
+        return sign < 0 ? previousPivot.negate() : previousPivot;
+    }
+
+    /**
+     * Returns the least common multiple of the denominators in a row
+     */
+    private static BigInteger commonDenominator(Rational[] row) {
+        BigInteger lcm = BigInteger.ONE;
+        for (Rational value : row) {
+            BigInteger denominator = value.denominator();
+            if (!denominator.equals(BigInteger.ONE)) {
+                lcm = lcm.divide(lcm.gcd(denominator)).multiply(denominator);
+            }
+        }
+        return lcm;
+    }
+
+    private static BigInteger[] scaleRow(Rational[] row, BigInteger scale) {
+        BigInteger[] result = new BigInteger[row.length];
+        for (int j = 0; j < row.length; j++) {
+            result[j] = row[j].numerator().multiply(scale.divide(row[j].denominator()));
+        }
+        return result;
+    }
+
+    //================================================================================================================//
+    //                                       Matrix Access Methods
+    //================================================================================================================//
+
+    public Rational get(int row, int column) {
+        return matrix[row][column];
+    }
+
+    public int rows() {
+        return matrix.length;
+    }
+
+    public int columns() {
+        return matrix[0].length;
+    }
+
+    public boolean isSquare() {
+        return matrix.length == matrix[0].length;
+    }
+
+    //================================================================================================================//
+    //                                           Utility Methods
+    //================================================================================================================//
+
+    /**
+     * Converts this matrix into a decimal matrix, rounding each value to the given precision
+     *
+     * @param mathContext The precision
+     * @return The decimal matrix
+     */
+    public Matrix toMatrix(MathContext mathContext) {
+        BigDecimal[][] values = new BigDecimal[this.rows()][this.columns()];
+        for (int i = 0; i < this.rows(); i++) {
+            for (int j = 0; j < this.columns(); j++) {
+                values[i][j] = matrix[i][j].toBigDecimal(mathContext).stripTrailingZeros();
+            }
+        }
+        return new Matrix(values);
+    }
+
+    @Override
+    public String toString() {
+        String[][] stringMatrix = new String[this.rows()][this.columns()];
+        int[] columnLongest = new int[this.columns()];
+        for (int i = 0; i < this.rows(); i++) {
+            for (int j = 0; j < this.columns(); j++) {
+                stringMatrix[i][j] = matrix[i][j].toString();
+                columnLongest[j] = Math.max(columnLongest[j], stringMatrix[i][j].length());
+            }
+        }
+
+        StringBuilder builder = new StringBuilder();
+        for (String[] row : stringMatrix) {
+            for (int j = 0; j < row.length; j++) {
+                row[j] = String.format("%" + columnLongest[j] + "s", row[j]);
+            }
+            builder.append(Arrays.toString(row)).append("\n");
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        RationalMatrix that = (RationalMatrix) o;
+        return Arrays.deepEquals(matrix, that.matrix);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.deepHashCode(matrix);
+    }
+}
@@ -1,4 +1,4 @@
-
+import java.util.Arrays;
 
 public class Solver {
 	/**
@@ -37,4 +37,157 @@ public class Solver {
 
 		return result;
 	}
+
+	/**
+	 * Find the polynomial of best fit for many independent series of inputs at once, spread across the common
+	 * fork-join pool. Each series gives exactly the result of {@link #findPolynomial(double[][])}.
+	 * Like {@link Matrix#solveAll(java.util.List, java.util.List)} and
+	 * {@link DoubleMatrix#solveAll(double[], double[], int)}, a series that cannot be solved does not abort the batch:
+	 * it has no solution in its slot, which is null here
+	 *
+	 * @param inputs Array of series, each an array of pairs of inputs: [ [x, y], [x1, y1], ... ]
+	 * @return The coefficients of each series, in input order; null for any series that cannot be solved
+	 */
+	public static double[][] findPolynomials(double[][][] inputs) {
+		return Arrays.stream(inputs).parallel()
+				.map(Solver::findPolynomialOrNull)
+				.toArray(double[][]::new);
+	}
+
+	/**
+	 * {@link #findPolynomial(double[][])}, but an unsolvable series, such as one with a repeated x, gives null
+	 * instead of aborting the rest of the batch
+	 */
+	private static double[] findPolynomialOrNull(double[][] inputs) {
+		try {
+			return findPolynomial(inputs);
+		} catch (ArithmeticException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Find the polynomial passing through every input, through Newton divided differences.
+	 * Gives the same coefficients as {@link #findPolynomial(double[][])} in O(n^2) time and O(n) memory,
+	 * computed in double precision.
+	 *
+	 * @param inputs Array of pairs of inputs: [ [x, y], [x1, y1], [x2, y2], ... ]
+	 * @return Each index is the x^n constant value for each x that has a solution up to the maximum x^n.
+	 * Returns null if the input is incorrect, or two inputs share an x value.
+	 */
+	public static double[] findInterpolatingPolynomial(double[][] inputs) {
+		NewtonPolynomial polynomial = NewtonPolynomial.interpolate(inputs);
+		return polynomial == null ? null : polynomial.toMonomial();
+	}
+
+	/**
+	 * Find the least-squares polynomial of the given degree for a series of inputs.
+	 * Uses a Householder QR factorization of the Vandermonde matrix, which costs O(n * degree^2)
+	 * and avoids squaring the condition number like the normal equations would.
+	 *
+	 * @param inputs Array of pairs of inputs: [ [x, y], [x1, y1], [x2, y2], ... ]
+	 * @param degree The degree of the polynomial; needs at least degree + 1 inputs with distinct x values
+	 * @return Each index is the x^n constant value, for n = 0 up to the degree.
+	 * Returns null if the input is incorrect, or it cannot be solved.
+	 */
+	public static double[] findPolynomial(double[][] inputs, int degree) {
+		int n = inputs.length;
+		int terms = degree + 1;
+		if (degree < 0 || n < terms) return null;
+
+		// Map x onto [-1, 1] so the powers stay comparable in size, then map the coefficients back at the end
+		double min = Double.POSITIVE_INFINITY;
+		double max = Double.NEGATIVE_INFINITY;
+		for (double[] input : inputs) {
+			if (input.length != 2) return null;
+			min = Math.min(min, input[0]);
+			max = Math.max(max, input[0]);
+		}
+		double center = (max + min) / 2;
+		double halfRange = max > min ? (max - min) / 2 : 1;
+
+		// Vandermonde matrix, stored column by column
+		double[][] a = new double[terms][n];
+		double[] y = new double[n];
+		for (int i = 0; i < n; i++) {
+			double t = (inputs[i][0] - center) / halfRange;
+			double pow = 1;
+			for (int j = 0; j < terms; j++) {
+				a[j][i] = pow;
+				pow *= t;
+			}
+			y[i] = inputs[i][1];
+		}
+
+		// Householder QR -- each reflection zeroes column k below the diagonal, and is applied to y as it goes
+		double[] diagonal = new double[terms];
+		for (int k = 0; k < terms; k++) {
+			double[] column = a[k];
+			double norm = 0;
+			for (int i = k; i < n; i++) {
+				norm = Math.hypot(norm, column[i]);
+			}
+			if (norm == 0) return null;
+			double alpha = column[k] > 0 ? -norm : norm;
+			column[k] -= alpha;
+			double vNormSquared = 0;
+			for (int i = k; i < n; i++) {
+				vNormSquared += column[i] * column[i];
+			}
+			diagonal[k] = alpha;
+
+			for (int j = k + 1; j < terms; j++) {
+				reflect(column, a[j], k, vNormSquared);
+			}
+			reflect(column, y, k, vNormSquared);
+		}
+
+		// Back substitution with R; the strict upper triangle is in a[j][i] for i < j, the diagonal kept aside
+		double[] scaled = new double[terms];
+		for (int i = terms - 1; i >= 0; i--) {
+			if (Math.abs(diagonal[i]) <= 1e-13 * Math.abs(diagonal[0])) return null;
+			double value = y[i];
+			for (int j = i + 1; j < terms; j++) {
+				value -= a[j][i] * scaled[j];
+			}
+			scaled[i] = value / diagonal[i];
+		}
+
+		return unscale(scaled, center, halfRange);
+	}
+
+	/**
+	 * Applies the Householder reflection I - 2 * v * v^T / (v^T * v) to a column, where v is stored in rows k and below
+	 */
+	private static void reflect(double[] v, double[] column, int k, double vNormSquared) {
+		double dot = 0;
+		for (int i = k; i < v.length; i++) {
+			dot += v[i] * column[i];
+		}
+		double factor = 2 * dot / vNormSquared;
+		for (int i = k; i < v.length; i++) {
+			column[i] -= factor * v[i];
+		}
+	}
+
+	/**
+	 * Converts coefficients of p(t), with t = (x - center) / halfRange, into coefficients of x
+	 */
+	static double[] unscale(double[] coefficients, double center, double halfRange) {
+		double[] result = new double[coefficients.length];
+		// Running expansion of ((x - center) / halfRange)^k, lowest power first
+		double[] power = new double[coefficients.length];
+		power[0] = 1;
+		for (int k = 0; k < coefficients.length; k++) {
+			if (k > 0) {
+				for (int j = k; j >= 0; j--) {
+					power[j] = ((j > 0 ? power[j - 1] : 0) - center * power[j]) / halfRange;
+				}
+			}
+			for (int j = 0; j <= k; j++) {
+				result[j] += coefficients[k] * power[j];
+			}
+		}
+		return result;
+	}
 }
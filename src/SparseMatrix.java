@@ -0,0 +1,433 @@
+import java.util.Arrays;
+
+/**
+ * A sparse matrix of doubles in compressed sparse row (CSR) form.
+ * <p>
+ * Only nonzero entries are stored: row i owns the entries rowPointers[i] until rowPointers[i + 1] of
+ * columnIndices and values, sorted by column. Memory and the cost of every kernel scale with the number of nonzeros.
+ */
+public class SparseMatrix implements LinearOperator {
+    private final int rows;
+    private final int columns;
+    private final int[] rowPointers;
+    private final int[] columnIndices;
+    private final double[] values;
+
+    //================================================================================================================//
+    //                                              Constructors
+    //================================================================================================================//
+
+    /**
+     * Creates a sparse copy of a dense primitive matrix, keeping only the nonzero values
+     *
+     * @param matrix The matrix to convert
+     */
+    public SparseMatrix(DoubleMatrix matrix) {
+        this(matrix.rows(), matrix.columns(), matrix.data());
+    }
+
+    /**
+     * Creates a sparse copy of a decimal matrix, keeping only the nonzero values
+     *
+     * @param matrix The matrix to convert
+     */
+    public SparseMatrix(Matrix matrix) {
+        this(matrix.toDoubleMatrix());
+    }
+
+    private SparseMatrix(int rows, int columns, double[] dense) {
+        this.rows = rows;
+        this.columns = columns;
+        this.rowPointers = new int[rows + 1];
+        int count = 0;
+        for (double value : dense) {
+            if (value != 0) {
+                count++;
+            }
+        }
+        this.columnIndices = new int[count];
+        this.values = new double[count];
+        count = 0;
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                double value = dense[i * columns + j];
+                if (value != 0) {
+                    columnIndices[count] = j;
+                    values[count] = value;
+                    count++;
+                }
+            }
+            rowPointers[i + 1] = count;
+        }
+    }
+
+    private SparseMatrix(int rows, int columns, int[] rowPointers, int[] columnIndices, double[] values) {
+        this.rows = rows;
+        this.columns = columns;
+        this.rowPointers = rowPointers;
+        this.columnIndices = columnIndices;
+        this.values = values;
+    }
+
+    //================================================================================================================//
+    //                                          Static Constructors
+    //================================================================================================================//
+
+    /**
+     * Creates a sparse matrix from coordinate triples (row[i], column[i], value[i]).
+     * Triples may come in any order; duplicate positions are summed, and zeros are dropped
+     *
+     * @param rows          The number of rows
+     * @param columns       The number of columns
+     * @param rowIndices    The row of each entry
+     * @param columnIndices The column of each entry
+     * @param values        The value of each entry
+     * @return The new sparse matrix
+     */
+    public static SparseMatrix fromTriplets(int rows, int columns, int[] rowIndices, int[] columnIndices,
+                                            double[] values) {
+        if (rowIndices.length != columnIndices.length || rowIndices.length != values.length) {
+            throw new IllegalArgumentException("Row, column and value arrays must have the same length");
+        }
+        // Two stable counting sorts, by column and then by row, leave every row bucket in column order with
+        // duplicates still in input order, in O(nonzeros + rows + columns) and without boxing
+        int[] counts = new int[rows + 1];
+        int[] columnCounts = new int[columns + 1];
+        for (int i = 0; i < rowIndices.length; i++) {
+            if (rowIndices[i] < 0 || rowIndices[i] >= rows || columnIndices[i] < 0 || columnIndices[i] >= columns) {
+                throw new IndexOutOfBoundsException("Invalid position (" + rowIndices[i] + ", " + columnIndices[i] + ")");
+            }
+            counts[rowIndices[i] + 1]++;
+            columnCounts[columnIndices[i] + 1]++;
+        }
+        for (int i = 0; i < rows; i++) {
+            counts[i + 1] += counts[i];
+        }
+        for (int j = 0; j < columns; j++) {
+            columnCounts[j + 1] += columnCounts[j];
+        }
+        int[] byColumn = new int[rowIndices.length];
+        for (int i = 0; i < rowIndices.length; i++) {
+            byColumn[columnCounts[columnIndices[i]]++] = i;
+        }
+        int[] bucketColumns = new int[rowIndices.length];
+        double[] bucketValues = new double[rowIndices.length];
+        int[] next = Arrays.copyOf(counts, rows);
+        for (int i : byColumn) {
+            int position = next[rowIndices[i]]++;
+            bucketColumns[position] = columnIndices[i];
+            bucketValues[position] = values[i];
+        }
+
+        // Merge duplicates and drop zeros
+        int[] rowPointers = new int[rows + 1];
+        int[] outColumns = new int[rowIndices.length];
+        double[] outValues = new double[rowIndices.length];
+        int count = 0;
+        for (int i = 0; i < rows; i++) {
+            int j = counts[i];
+            int to = counts[i + 1];
+            while (j < to) {
+                int column = bucketColumns[j];
+                double sum = 0;
+                while (j < to && bucketColumns[j] == column) {
+                    sum += bucketValues[j];
+                    j++;
+                }
+                if (sum != 0) {
+                    outColumns[count] = column;
+                    outValues[count] = sum;
+                    count++;
+                }
+            }
+            rowPointers[i + 1] = count;
+        }
+        return new SparseMatrix(rows, columns, rowPointers,
+                Arrays.copyOf(outColumns, count), Arrays.copyOf(outValues, count));
+    }
+
+    /**
+     * Creates a sparse identity matrix of the given size
+     *
+     * @param n The size
+     * @return A new NxN identity matrix
+     */
+    public static SparseMatrix identity(int n) {
+        int[] rowPointers = new int[n + 1];
+        int[] columnIndices = new int[n];
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            rowPointers[i + 1] = i + 1;
+            columnIndices[i] = i;
+            values[i] = 1;
+        }
+        return new SparseMatrix(n, n, rowPointers, columnIndices, values);
+    }
+
+    //================================================================================================================//
+    //                                       Matrix Manipulation Methods
+    //================================================================================================================//
+
+    /**
+     * Multiplies this matrix by a vector
+     *
+     * @param vector The vector; must have as many entries as this matrix has columns
+     * @return The product, one entry per row
+     */
+    public double[] multiply(double[] vector) {
+        if (vector.length != columns) {
+            throw new IllegalArgumentException("Expected a vector with " + columns + " entries");
+        }
+        double[] result = new double[rows];
+        this.apply(vector, result);
+        return result;
+    }
+
+    /**
+     * Multiplies this matrix by a vector, into an existing output vector
+     *
+     * @param x The input vector, one entry per column
+     * @param y The output vector, one entry per row; overwritten
+     */
+    @Override
+    public void apply(double[] x, double[] y) {
+        for (int i = 0; i < rows; i++) {
+            double sum = 0;
+            for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                sum += values[p] * x[columnIndices[p]];
+            }
+            y[i] = sum;
+        }
+    }
+
+    /**
+     * Multiplies this matrix by a dense matrix.
+     * Every nonzero scales one row of the other matrix onto one row of the result
+     *
+     * @param other The right-hand matrix
+     * @return The dense product
+     */
+    public DoubleMatrix multiply(DoubleMatrix other) {
+        if (this.columns != other.rows()) {
+            throw new IllegalArgumentException("Cannot multiply matrices of non compatible sizes\n" +
+                    "Expected other matrix to have " + this.columns + " rows\n");
+        }
+        int n = other.columns();
+        double[] b = other.data();
+        double[] result = new double[rows * n];
+        for (int i = 0; i < rows; i++) {
+            int resultRow = i * n;
+            for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                double value = values[p];
+                int otherRow = columnIndices[p] * n;
+                for (int j = 0; j < n; j++) {
+                    result[resultRow + j] += value * b[otherRow + j];
+                }
+            }
+        }
+        return new DoubleMatrix(rows, n, result);
+    }
+
+    /**
+     * Multiplies two sparse matrices (Gustavson's row-by-row algorithm).
+     * Each result row is gathered in a dense accumulator, so the work is proportional to the number of
+     * scalar products, not to rows x columns
+     *
+     * @param other The right-hand matrix
+     * @return The sparse product
+     */
+    public SparseMatrix multiply(SparseMatrix other) {
+        if (this.columns != other.rows) {
+            throw new IllegalArgumentException("Cannot multiply matrices of non compatible sizes\n" +
+                    "Expected other matrix to have " + this.columns + " rows\n");
+        }
+        int n = other.columns;
+        double[] accumulator = new double[n];
+        // marker[j] == i + 1 means column j is already part of row i of the result
+        int[] marker = new int[n];
+        int[] rowColumns = new int[n];
+
+        int[] resultPointers = new int[rows + 1];
+        int[] resultColumns = new int[Math.max(16, this.values.length + other.values.length)];
+        double[] resultValues = new double[resultColumns.length];
+        int count = 0;
+
+        for (int i = 0; i < rows; i++) {
+            int rowCount = 0;
+            for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                double value = values[p];
+                int k = columnIndices[p];
+                for (int q = other.rowPointers[k]; q < other.rowPointers[k + 1]; q++) {
+                    int j = other.columnIndices[q];
+                    if (marker[j] != i + 1) {
+                        marker[j] = i + 1;
+                        accumulator[j] = 0;
+                        rowColumns[rowCount++] = j;
+                    }
+                    accumulator[j] += value * other.values[q];
+                }
+            }
+
+            Arrays.sort(rowColumns, 0, rowCount);
+            if (count + rowCount > resultColumns.length) {
+                int capacity = Math.max(resultColumns.length * 2, count + rowCount);
+                resultColumns = Arrays.copyOf(resultColumns, capacity);
+                resultValues = Arrays.copyOf(resultValues, capacity);
+            }
+            for (int c = 0; c < rowCount; c++) {
+                int j = rowColumns[c];
+                if (accumulator[j] != 0) {
+                    resultColumns[count] = j;
+                    resultValues[count] = accumulator[j];
+                    count++;
+                }
+            }
+            resultPointers[i + 1] = count;
+        }
+
+        return new SparseMatrix(rows, n, resultPointers,
+                Arrays.copyOf(resultColumns, count), Arrays.copyOf(resultValues, count));
+    }
+
+    /**
+     * Transposes the matrix in O(nonzeros), by counting the entries of each column
+     *
+     * @return The transposed matrix
+     */
+    public SparseMatrix transpose() {
+        int[] resultPointers = new int[columns + 1];
+        for (int column : columnIndices) {
+            resultPointers[column + 1]++;
+        }
+        for (int j = 0; j < columns; j++) {
+            resultPointers[j + 1] += resultPointers[j];
+        }
+
+        int[] next = Arrays.copyOf(resultPointers, columns);
+        int[] resultColumns = new int[values.length];
+        double[] resultValues = new double[values.length];
+        // Walking the rows in order keeps every output row sorted by column
+        for (int i = 0; i < rows; i++) {
+            for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                int position = next[columnIndices[p]]++;
+                resultColumns[position] = i;
+                resultValues[position] = values[p];
+            }
+        }
+        return new SparseMatrix(columns, rows, resultPointers, resultColumns, resultValues);
+    }
+
+    /**
+     * Calculates the scaled matrix -- multiples each value in the matrix by the given value
+     *
+     * @param value The value
+     * @return The matrix scaled by the given value
+     */
+    public SparseMatrix scale(double value) {
+        if (value == 0) {
+            return new SparseMatrix(rows, columns, new int[rows + 1], new int[0], new double[0]);
+        }
+        double[] result = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = values[i] * value;
+        }
+        return new SparseMatrix(rows, columns, rowPointers, columnIndices, result);
+    }
+
+    //================================================================================================================//
+    //                                       Matrix Access Methods
+    //================================================================================================================//
+
+    /**
+     * Returns the value at the given row and column
+     *
+     * @param row    The row
+     * @param column The column
+     * @return The value, zero if nothing is stored there
+     */
+    public double get(int row, int column) {
+        if (row < 0 || row >= rows || column < 0 || column >= columns) {
+            throw new IndexOutOfBoundsException("Invalid position (" + row + ", " + column + ")");
+        }
+        int position = Arrays.binarySearch(columnIndices, rowPointers[row], rowPointers[row + 1], column);
+        return position >= 0 ? values[position] : 0;
+    }
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int columns() {
+        return columns;
+    }
+
+    @Override
+    public double[] diagonal() {
+        double[] diagonal = new double[Math.min(rows, columns)];
+        for (int i = 0; i < diagonal.length; i++) {
+            diagonal[i] = this.get(i, i);
+        }
+        return diagonal;
+    }
+
+    /**
+     * Returns the number of stored (nonzero) entries
+     *
+     * @return The number of nonzeros
+     */
+    public int nonZeros() {
+        return values.length;
+    }
+
+    int[] rowPointers() {
+        return rowPointers;
+    }
+
+    int[] columnIndices() {
+        return columnIndices;
+    }
+
+    double[] values() {
+        return values;
+    }
+
+    //================================================================================================================//
+    //                                           Utility Methods
+    //================================================================================================================//
+
+    public DoubleMatrix toDoubleMatrix() {
+        double[] dense = new double[rows * columns];
+        for (int i = 0; i < rows; i++) {
+            for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                dense[i * columns + columnIndices[p]] = values[p];
+            }
+        }
+        return new DoubleMatrix(rows, columns, dense);
+    }
+
+    public Matrix toMatrix() {
+        return this.toDoubleMatrix().toMatrix();
+    }
+
+    @Override
+    public String toString() {
+        return this.toDoubleMatrix().toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        SparseMatrix matrix = (SparseMatrix) o;
+        return rows == matrix.rows && columns == matrix.columns
+                && Arrays.equals(rowPointers, matrix.rowPointers)
+                && Arrays.equals(columnIndices, matrix.columnIndices)
+                && Arrays.equals(values, matrix.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * (31 * rows + columns) + Arrays.hashCode(columnIndices)) + Arrays.hashCode(values);
+    }
+}
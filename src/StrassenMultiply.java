@@ -0,0 +1,133 @@
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * Strassen-Winograd multiplication on decimal arrays.
+ * <p>
+ * Each level splits both operands into quadrants -- padding odd dimensions with an implicit zero row or column --
+ * and forms the product from 7 quadrant products instead of 8. Every BigDecimal multiplication is far more expensive
+ * than an addition, so this pays off at much smaller sizes than it would for doubles.
+ * The result is exact, so it is numerically equal to the classical product, though the scale of a cell may differ.
+ */
+final class StrassenMultiply {
+    /**
+     * Recursion stops once any dimension is at or below this size
+     */
+    static final int DEFAULT_LEAF_SIZE = 16;
+
+    private StrassenMultiply() {
+    }
+
+    /**
+     * Multiplies a (m x k) by b (k x n)
+     *
+     * @param a        The left matrix
+     * @param b        The right matrix
+     * @param leafSize The size at or below which the classical kernel is used
+     * @param mc       The precision of every product and sum, or null for exact arithmetic
+     * @return The m x n product
+     */
+    static BigDecimal[][] multiply(BigDecimal[][] a, BigDecimal[][] b, int leafSize, MathContext mc) {
+        int m = a.length;
+        int k = b.length;
+        int n = b[0].length;
+
+        if (Math.min(m, Math.min(k, n)) <= leafSize) {
+            BigDecimal[][] c = new BigDecimal[m][n];
+            MultiplyKernels.multiply(a, b, c, mc);
+            return c;
+        }
+
+        int mHalf = (m + 1) / 2;
+        int kHalf = (k + 1) / 2;
+        int nHalf = (n + 1) / 2;
+
+        BigDecimal[][] a11 = quadrant(a, 0, 0, mHalf, kHalf);
+        BigDecimal[][] a12 = quadrant(a, 0, kHalf, mHalf, kHalf);
+        BigDecimal[][] a21 = quadrant(a, mHalf, 0, mHalf, kHalf);
+        BigDecimal[][] a22 = quadrant(a, mHalf, kHalf, mHalf, kHalf);
+        BigDecimal[][] b11 = quadrant(b, 0, 0, kHalf, nHalf);
+        BigDecimal[][] b12 = quadrant(b, 0, nHalf, kHalf, nHalf);
+        BigDecimal[][] b21 = quadrant(b, kHalf, 0, kHalf, nHalf);
+        BigDecimal[][] b22 = quadrant(b, kHalf, nHalf, kHalf, nHalf);
+
+        BigDecimal[][] s1 = add(a21, a22, mc);
+        BigDecimal[][] s2 = subtract(s1, a11, mc);
+        BigDecimal[][] s3 = subtract(a11, a21, mc);
+        BigDecimal[][] s4 = subtract(a12, s2, mc);
+        BigDecimal[][] t1 = subtract(b12, b11, mc);
+        BigDecimal[][] t2 = subtract(b22, t1, mc);
+        BigDecimal[][] t3 = subtract(b22, b12, mc);
+        BigDecimal[][] t4 = subtract(t2, b21, mc);
+
+        BigDecimal[][] m1 = multiply(a11, b11, leafSize, mc);
+        BigDecimal[][] m2 = multiply(a12, b21, leafSize, mc);
+        BigDecimal[][] m3 = multiply(s4, b22, leafSize, mc);
+        BigDecimal[][] m4 = multiply(a22, t4, leafSize, mc);
+        BigDecimal[][] m5 = multiply(s1, t1, leafSize, mc);
+        BigDecimal[][] m6 = multiply(s2, t2, leafSize, mc);
+        BigDecimal[][] m7 = multiply(s3, t3, leafSize, mc);
+
+        BigDecimal[][] c11 = add(m1, m2, mc);
+        BigDecimal[][] u2 = add(m1, m6, mc);
+        BigDecimal[][] u3 = add(u2, m7, mc);
+        BigDecimal[][] c12 = add(add(u2, m5, mc), m3, mc);
+        BigDecimal[][] c21 = subtract(u3, m4, mc);
+        BigDecimal[][] c22 = add(u3, m5, mc);
+
+        BigDecimal[][] c = new BigDecimal[m][n];
+        place(c, c11, 0, 0);
+        place(c, c12, 0, nHalf);
+        place(c, c21, mHalf, 0);
+        place(c, c22, mHalf, nHalf);
+        return c;
+    }
+
+    /**
+     * Copies a rows x columns block starting at (row, column), reading zero past the edge of the source
+     */
+    private static BigDecimal[][] quadrant(BigDecimal[][] source, int row, int column, int rows, int columns) {
+        BigDecimal[][] block = new BigDecimal[rows][columns];
+        for (int i = 0; i < rows; i++) {
+            int sourceRow = row + i;
+            for (int j = 0; j < columns; j++) {
+                int sourceColumn = column + j;
+                block[i][j] = sourceRow < source.length && sourceColumn < source[sourceRow].length
+                        ? source[sourceRow][sourceColumn]
+                        : BigDecimal.ZERO;
+            }
+        }
+        return block;
+    }
+
+    /**
+     * Copies a block into the target at (row, column), dropping whatever falls past the edge (the padding)
+     */
+    private static void place(BigDecimal[][] target, BigDecimal[][] block, int row, int column) {
+        int rows = Math.min(block.length, target.length - row);
+        int columns = Math.min(block[0].length, target[0].length - column);
+        for (int i = 0; i < rows; i++) {
+            System.arraycopy(block[i], 0, target[row + i], column, columns);
+        }
+    }
+
+    private static BigDecimal[][] add(BigDecimal[][] x, BigDecimal[][] y, MathContext mc) {
+        BigDecimal[][] result = new BigDecimal[x.length][x[0].length];
+        for (int i = 0; i < x.length; i++) {
+            for (int j = 0; j < x[i].length; j++) {
+                result[i][j] = DecimalMath.add(x[i][j], y[i][j], mc);
+            }
+        }
+        return result;
+    }
+
+    private static BigDecimal[][] subtract(BigDecimal[][] x, BigDecimal[][] y, MathContext mc) {
+        BigDecimal[][] result = new BigDecimal[x.length][x[0].length];
+        for (int i = 0; i < x.length; i++) {
+            for (int j = 0; j < x[i].length; j++) {
+                result[i][j] = DecimalMath.subtract(x[i][j], y[i][j], mc);
+            }
+        }
+        return result;
+    }
+}
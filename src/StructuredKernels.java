@@ -0,0 +1,361 @@
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * Kernels for matrices with a known {@link MatrixStructure}, shared by {@link Matrix}.
+ * <p>
+ * Each kernel only visits the entries inside the band, so diagonal and tridiagonal work is O(n) per column,
+ * banded work is O(n * bandwidth), and triangular substitution is O(n^2) per column, instead of the O(n^3) of a
+ * general factorization. Results are rounded the same way as {@link LUDecomposition}.
+ */
+final class StructuredKernels {
+    private StructuredKernels() {
+    }
+
+    //================================================================================================================//
+    //                                            Multiplication
+    //================================================================================================================//
+
+    /**
+     * c = a * b, visiting only the band of a; c must have a.length rows of b[0].length columns.
+     * A diagonal a reduces to scaling the rows of b
+     *
+     * @param a     The banded left matrix
+     * @param lower The lower bandwidth of a
+     * @param upper The upper bandwidth of a
+     * @param b     The right matrix
+     * @param c     The output matrix; every cell is overwritten
+     * @param mc    The precision of every product and sum, or null for exact arithmetic
+     */
+    static void multiplyBanded(BigDecimal[][] a, int lower, int upper, BigDecimal[][] b, BigDecimal[][] c,
+                               MathContext mc) {
+        int inner = b.length;
+        for (int i = 0; i < a.length; i++) {
+            BigDecimal[] cRow = c[i];
+            int kFrom = Math.max(0, i - lower);
+            int kTo = Math.min(inner - 1, i + upper);
+            for (int j = 0; j < cRow.length; j++) {
+                BigDecimal sum = null;
+                for (int k = kFrom; k <= kTo; k++) {
+                    BigDecimal product = DecimalMath.multiply(a[i][k], b[k][j], mc);
+                    sum = sum == null ? product : DecimalMath.add(sum, product, mc);
+                }
+                cRow[j] = sum == null ? BigDecimal.ZERO : sum;
+            }
+        }
+    }
+
+    /**
+     * c = a * d for a diagonal d, which scales the columns of a
+     *
+     * @param a  The left matrix
+     * @param d  The diagonal right matrix; must be square, with as many rows as a has columns
+     * @param c  The output matrix; every cell is overwritten
+     * @param mc The precision of every product, or null for exact arithmetic
+     */
+    static void multiplyDiagonalRight(BigDecimal[][] a, BigDecimal[][] d, BigDecimal[][] c, MathContext mc) {
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < c[i].length; j++) {
+                c[i][j] = DecimalMath.multiply(a[i][j], d[j][j], mc);
+            }
+        }
+    }
+
+    //================================================================================================================//
+    //                                               Solving
+    //================================================================================================================//
+
+    /**
+     * Solves A * X = B for a diagonal A, dividing each row of B by the diagonal
+     */
+    static BigDecimal[][] solveDiagonal(BigDecimal[][] a, Matrix b, MathContext mc) {
+        int n = a.length;
+        BigDecimal[][] x = new BigDecimal[n][b.columns()];
+        for (int i = 0; i < n; i++) {
+            checkPivot(a[i][i]);
+            for (int j = 0; j < b.columns(); j++) {
+                x[i][j] = DecimalMath.round(DecimalMath.divide(b.getBigDecimal(i, j), a[i][i], mc), mc);
+            }
+        }
+        return x;
+    }
+
+    /**
+     * Solves A * X = B for a triangular A by forward or back substitution, visiting only the band
+     *
+     * @param a     The triangular matrix
+     * @param band  The bandwidth on the nonzero side
+     * @param upper Whether A is upper triangular; otherwise it is lower triangular
+     * @param b     The right-hand side
+     * @param mc    The precision, or null
+     * @return The solution X
+     */
+    static BigDecimal[][] solveTriangular(BigDecimal[][] a, int band, boolean upper, Matrix b, MathContext mc) {
+        int n = a.length;
+        for (int i = 0; i < n; i++) {
+            checkPivot(a[i][i]);
+        }
+        BigDecimal[][] x = new BigDecimal[n][b.columns()];
+        for (int column = 0; column < b.columns(); column++) {
+            for (int step = 0; step < n; step++) {
+                int i = upper ? n - 1 - step : step;
+                BigDecimal value = b.getBigDecimal(i, column);
+                int kFrom = upper ? i + 1 : Math.max(0, i - band);
+                int kTo = upper ? Math.min(n - 1, i + band) : i - 1;
+                for (int k = kFrom; k <= kTo; k++) {
+                    value = DecimalMath.subtractProduct(value, a[i][k], x[k][column], mc);
+                }
+                x[i][column] = DecimalMath.divide(value, a[i][i], mc);
+            }
+        }
+        round(x, mc);
+        return x;
+    }
+
+    /**
+     * Solves A * X = B for a tridiagonal A with the Thomas algorithm, O(n) per column.
+     * The algorithm does not pivot, which is only stable when A is diagonally dominant; any other matrix, or one
+     * whose pivot vanishes anyway, goes to {@link #solveBanded}, which pivots within the band
+     *
+     * @param a  The tridiagonal matrix
+     * @param b  The right-hand side
+     * @param mc The precision, or null
+     * @return The solution X
+     */
+    static BigDecimal[][] solveTridiagonal(BigDecimal[][] a, Matrix b, MathContext mc) {
+        int n = a.length;
+        if (!isDiagonallyDominant(a)) {
+            return solveBanded(a, 1, 1, b, mc);
+        }
+        // The modified super-diagonal and pivots of the forward sweep, shared by every column
+        BigDecimal[] superDiagonal = new BigDecimal[n];
+        BigDecimal[] pivots = new BigDecimal[n];
+        for (int i = 0; i < n; i++) {
+            BigDecimal pivot = a[i][i];
+            if (i > 0) {
+                pivot = DecimalMath.subtractProduct(pivot, a[i][i - 1], superDiagonal[i - 1], mc);
+            }
+            if (DecimalMath.isNegligible(pivot, DecimalMath.largest(a[i]), mc)) {
+                return solveBanded(a, 1, 1, b, mc);
+            }
+            pivots[i] = pivot;
+            superDiagonal[i] = i + 1 < n ? DecimalMath.divide(a[i][i + 1], pivot, mc) : BigDecimal.ZERO;
+        }
+
+        BigDecimal[][] x = new BigDecimal[n][b.columns()];
+        for (int column = 0; column < b.columns(); column++) {
+            for (int i = 0; i < n; i++) {
+                BigDecimal value = b.getBigDecimal(i, column);
+                if (i > 0) {
+                    value = DecimalMath.subtractProduct(value, a[i][i - 1], x[i - 1][column], mc);
+                }
+                x[i][column] = DecimalMath.divide(value, pivots[i], mc);
+            }
+            for (int i = n - 2; i >= 0; i--) {
+                x[i][column] = DecimalMath.subtractProduct(x[i][column], superDiagonal[i], x[i + 1][column], mc);
+            }
+        }
+        round(x, mc);
+        return x;
+    }
+
+    /**
+     * Solves A * X = B for a banded A by Gaussian elimination with partial pivoting inside the band.
+     * Row exchanges widen the upper band to lower + upper, so the work is O(n * lower * (lower + upper)),
+     * plus O(n * (lower + upper)) per column
+     *
+     * @param a     The banded matrix; left untouched
+     * @param lower The lower bandwidth
+     * @param upper The upper bandwidth
+     * @param b     The right-hand side
+     * @param mc    The precision, or null
+     * @return The solution X
+     */
+    static BigDecimal[][] solveBanded(BigDecimal[][] a, int lower, int upper, Matrix b, MathContext mc) {
+        int n = a.length;
+        int m = b.columns();
+        BigDecimal[][] u = copyRows(a);
+        BigDecimal[][] x = new BigDecimal[n][m];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < m; j++) {
+                x[i][j] = b.getBigDecimal(i, j);
+            }
+        }
+        if (eliminateBanded(u, lower, upper, x, mc) == 0) {
+            throw new ArithmeticException("Matrix is singular");
+        }
+
+        int width = lower + upper;
+        for (int column = 0; column < m; column++) {
+            for (int i = n - 1; i >= 0; i--) {
+                BigDecimal value = x[i][column];
+                for (int k = i + 1; k <= Math.min(n - 1, i + width); k++) {
+                    value = DecimalMath.subtractProduct(value, u[i][k], x[k][column], mc);
+                }
+                x[i][column] = DecimalMath.divide(value, u[i][i], mc);
+            }
+        }
+        round(x, mc);
+        return x;
+    }
+
+    //================================================================================================================//
+    //                                            Determinants
+    //================================================================================================================//
+
+    /**
+     * The determinant of a triangular (or diagonal) matrix, the product of its diagonal
+     */
+    static BigDecimal determinantTriangular(BigDecimal[][] a, MathContext mc) {
+        BigDecimal det = BigDecimal.ONE;
+        for (int i = 0; i < a.length; i++) {
+            det = DecimalMath.multiply(det, a[i][i], mc);
+        }
+        return DecimalMath.round(det, mc);
+    }
+
+    /**
+     * The determinant of a tridiagonal matrix through the continuant recurrence
+     * f(i) = a(i, i) * f(i - 1) - a(i, i - 1) * a(i - 1, i) * f(i - 2), which needs no division at all
+     */
+    static BigDecimal determinantTridiagonal(BigDecimal[][] a, MathContext mc) {
+        BigDecimal previous = BigDecimal.ONE;
+        BigDecimal current = a[0][0];
+        // The larger of the two terms of the last step, to recognise a determinant that cancelled to nothing
+        BigDecimal reference = current.abs();
+        for (int i = 1; i < a.length; i++) {
+            BigDecimal coupling = DecimalMath.multiply(a[i][i - 1], a[i - 1][i], mc);
+            BigDecimal diagonalTerm = DecimalMath.multiply(a[i][i], current, mc);
+            BigDecimal couplingTerm = DecimalMath.multiply(coupling, previous, mc);
+            previous = current;
+            current = DecimalMath.limit(DecimalMath.subtract(diagonalTerm, couplingTerm, mc), mc);
+            reference = diagonalTerm.abs().max(couplingTerm.abs());
+        }
+        return DecimalMath.round(current, reference, mc);
+    }
+
+    /**
+     * The determinant of a banded matrix through banded elimination
+     */
+    static BigDecimal determinantBanded(BigDecimal[][] a, int lower, int upper, MathContext mc) {
+        BigDecimal[][] u = copyRows(a);
+        int sign = eliminateBanded(u, lower, upper, null, mc);
+        if (sign == 0) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal det = BigDecimal.valueOf(sign);
+        for (int i = 0; i < u.length; i++) {
+            det = DecimalMath.multiply(det, u[i][i], mc);
+        }
+        return DecimalMath.round(det, mc);
+    }
+
+    //================================================================================================================//
+    //                                           Utility Methods
+    //================================================================================================================//
+
+    /**
+     * Reduces a banded matrix to upper triangular form in place, applying the same row operations to x
+     *
+     * @return The sign of the row permutation, or 0 if the matrix is singular
+     */
+    private static int eliminateBanded(BigDecimal[][] u, int lower, int upper, BigDecimal[][] x, MathContext mc) {
+        int n = u.length;
+        // Each pivot is measured against the largest entry of its original row
+        BigDecimal[] rowScale = new BigDecimal[n];
+        for (int i = 0; i < n; i++) {
+            rowScale[i] = DecimalMath.largest(u[i]);
+        }
+        int sign = 1;
+        for (int k = 0; k < n; k++) {
+            int rowTo = Math.min(n - 1, k + lower);
+            int p = k;
+            for (int i = k + 1; i <= rowTo; i++) {
+                if (u[i][k].abs().compareTo(u[p][k].abs()) > 0) {
+                    p = i;
+                }
+            }
+            if (p != k) {
+                BigDecimal[] temp = u[p];
+                u[p] = u[k];
+                u[k] = temp;
+                BigDecimal tempScale = rowScale[p];
+                rowScale[p] = rowScale[k];
+                rowScale[k] = tempScale;
+                if (x != null) {
+                    temp = x[p];
+                    x[p] = x[k];
+                    x[k] = temp;
+                }
+                sign = -sign;
+            }
+            if (DecimalMath.isNegligible(u[k][k], rowScale[k], mc)) {
+                return 0;
+            }
+
+            int columnTo = Math.min(n - 1, k + lower + upper);
+            for (int i = k + 1; i <= rowTo; i++) {
+                if (u[i][k].signum() == 0) {
+                    continue;
+                }
+                BigDecimal factor = DecimalMath.divide(u[i][k], u[k][k], mc);
+                u[i][k] = BigDecimal.ZERO;
+                for (int j = k + 1; j <= columnTo; j++) {
+                    u[i][j] = DecimalMath.subtractProduct(u[i][j], factor, u[k][j], mc);
+                }
+                if (x != null) {
+                    for (int j = 0; j < x[i].length; j++) {
+                        x[i][j] = DecimalMath.subtractProduct(x[i][j], factor, x[k][j], mc);
+                    }
+                }
+            }
+        }
+        return sign;
+    }
+
+    /**
+     * The pivots of a diagonal or triangular matrix are its own entries, not the result of any cancellation,
+     * so only an exact zero makes it singular
+     */
+    private static void checkPivot(BigDecimal pivot) {
+        if (pivot.signum() == 0) {
+            throw new ArithmeticException("Matrix is singular");
+        }
+    }
+
+    /**
+     * Checks if every diagonal entry of a tridiagonal matrix is at least as large as the rest of its row
+     */
+    private static boolean isDiagonallyDominant(BigDecimal[][] a) {
+        int n = a.length;
+        for (int i = 0; i < n; i++) {
+            BigDecimal offDiagonal = BigDecimal.ZERO;
+            if (i > 0) {
+                offDiagonal = offDiagonal.add(a[i][i - 1].abs());
+            }
+            if (i + 1 < n) {
+                offDiagonal = offDiagonal.add(a[i][i + 1].abs());
+            }
+            if (a[i][i].abs().compareTo(offDiagonal) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void round(BigDecimal[][] x, MathContext mc) {
+        for (BigDecimal[] row : x) {
+            for (int j = 0; j < row.length; j++) {
+                row[j] = DecimalMath.round(row[j], mc);
+            }
+        }
+    }
+
+    private static BigDecimal[][] copyRows(BigDecimal[][] values) {
+        BigDecimal[][] copy = new BigDecimal[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            copy[i] = values[i].clone();
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,63 @@
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Regression checks for the batch APIs, which share one contract: an item that cannot be solved leaves its slot
+ * empty without aborting the rest of the batch. Run the main method; any failure throws an {@link AssertionError}.
+ */
+public class BatchSolveTest {
+    public static void main(String[] args) {
+        repeatedXLeavesItsSeriesEmpty();
+        singularMatrixLeavesItsSystemEmpty();
+        singularPackedSystemIsNaN();
+        System.out.println("All batch solve checks passed");
+    }
+
+    /**
+     * A series with a repeated x used to throw out of the stream and discard the whole batch
+     */
+    private static void repeatedXLeavesItsSeriesEmpty() {
+        double[][][] inputs = {
+                {{1, 2}, {2, 3}},
+                {{1, 2}, {1, 3}},
+                {{0, 1}, {1, 2}, {2, 5}}
+        };
+        double[][] coefficients = Solver.findPolynomials(inputs);
+        check(coefficients[1] == null, "a series with a repeated x was solved");
+        for (int i : new int[]{0, 2}) {
+            check(Arrays.equals(coefficients[i], Solver.findPolynomial(inputs[i])), "series " + i + " changed");
+        }
+    }
+
+    private static void singularMatrixLeavesItsSystemEmpty() {
+        Matrix regular = new Matrix(new double[][]{{2, 1}, {1, 3}});
+        Matrix singular = new Matrix(new double[][]{{1, 2}, {2, 4}});
+        Matrix b = new Matrix(new double[][]{{1}, {2}});
+        List<Matrix> solutions = Matrix.solveAll(List.of(regular, singular, regular), List.of(b, b, b));
+        check(solutions.size() == 3, "expected a slot per system");
+        check(solutions.get(1) == null, "a singular system was solved");
+        check(solutions.get(0).equals(regular.solve(b)) && solutions.get(2).equals(regular.solve(b)),
+                "regular systems changed");
+    }
+
+    /**
+     * The last pivot of this matrix rounds to about 1e-16 rather than zero, like in {@link DoubleMatrix#lu()}
+     */
+    private static void singularPackedSystemIsNaN() {
+        double[] systems = {
+                2, 0, 0, 0, 2, 0, 0, 0, 2,
+                1, 2, 3, 4, 5, 6, 7, 8, 9
+        };
+        double[] solutions = DoubleMatrix.solveAll(systems, new double[]{2, 4, 6, 1, 1, 1}, 3);
+        check(Arrays.equals(Arrays.copyOf(solutions, 3), new double[]{1, 2, 3}), "regular system changed");
+        for (int i = 3; i < 6; i++) {
+            check(Double.isNaN(solutions[i]), "a singular system was solved");
+        }
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
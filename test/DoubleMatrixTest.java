@@ -0,0 +1,46 @@
+/**
+ * Regression checks for {@link DoubleMatrix}. Run the main method; any failure throws an {@link AssertionError}.
+ */
+public class DoubleMatrixTest {
+    public static void main(String[] args) {
+        singularInverseThrowsLikeMatrix();
+        inverseOfRegularMatrix();
+        System.out.println("All double matrix checks passed");
+    }
+
+    /**
+     * Rounding leaves a last pivot of about 1e-16 rather than zero, which used to pass for an inverse
+     */
+    private static void singularInverseThrowsLikeMatrix() {
+        double[][] values = {{1, 2, 3}, {4, 5, 6}, {7, 8, 9}};
+        checkSingular(() -> new Matrix(values).inverse(), "Matrix.inverse");
+        checkSingular(() -> new DoubleMatrix(values).inverse(), "DoubleMatrix.inverse");
+        checkSingular(() -> new DoubleMatrix(values).solve(new DoubleMatrix(3, 1, 1)), "DoubleMatrix.solve");
+        check(new DoubleMatrix(values).lu().determinant() == 0, "singular determinant is not zero");
+    }
+
+    private static void inverseOfRegularMatrix() {
+        DoubleMatrix a = new DoubleMatrix(new double[][]{{4, 7}, {2, 6}});
+        DoubleMatrix product = a.multiply(a.inverse());
+        for (int i = 0; i < 2; i++) {
+            for (int j = 0; j < 2; j++) {
+                check(Math.abs(product.get(i, j) - (i == j ? 1 : 0)) < 1e-15, "A * A^-1 is not the identity");
+            }
+        }
+    }
+
+    private static void checkSingular(Runnable operation, String name) {
+        try {
+            operation.run();
+        } catch (ArithmeticException e) {
+            return;
+        }
+        throw new AssertionError(name + " accepted a singular matrix");
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * Regression checks for {@link Matrix} and its factorizations. Run the main method; any failure throws an
+ * {@link AssertionError}.
+ */
+public class MatrixTest {
+    public static void main(String[] args) {
+        smallMagnitudesAreNotSingular();
+        singularMatricesStaySingular();
+        unstableLdlPivotFallsBackToLU();
+        powersWithoutContextKeepBoundedScale();
+        System.out.println("All matrix checks passed");
+    }
+
+    /**
+     * Negligible values used to be measured against one, so under MathContext(10) a problem whose entries were
+     * all small was called singular, or had its results rounded to zero
+     */
+    private static void smallMagnitudesAreNotSingular() {
+        MathContext mc = new MathContext(10);
+        check(matrix(mc, new double[][]{{1e-9}}).determinant().compareTo(new BigDecimal("1E-9")) == 0,
+                "det [[1e-9]] is not 1e-9");
+        check(matrix(mc, new double[][]{{1e-12, 0}, {0, 1e-12}}).determinant().compareTo(new BigDecimal("1E-24")) == 0,
+                "det diag(1e-12, 1e-12) is not 1e-24");
+
+        Matrix a = matrix(mc, new double[][]{{1, 0, 0}, {0, 2, 1}, {0, 1, 3}});
+        Matrix x = a.solve(matrix(mc, new double[][]{{1e-9}, {1}, {1}}));
+        check(x.getBigDecimal(0, 0).compareTo(new BigDecimal("1E-9")) == 0, "x0 = " + x.getBigDecimal(0, 0));
+
+        // Scaling a whole system by 1e-9 must not change its solution
+        Matrix small = matrix(mc, new double[][]{{1e-9, 2e-9}, {3e-9, 4e-9}}).solve(
+                matrix(mc, new double[][]{{5e-9}, {6e-9}}));
+        Matrix unit = matrix(mc, new double[][]{{1, 2}, {3, 4}}).solve(matrix(mc, new double[][]{{5}, {6}}));
+        for (int i = 0; i < 2; i++) {
+            check(small.getBigDecimal(i, 0).compareTo(unit.getBigDecimal(i, 0)) == 0, "scaled system solved differently");
+        }
+    }
+
+    private static void singularMatricesStaySingular() {
+        MathContext mc = new MathContext(10);
+        check(matrix(mc, new double[][]{{1, 2}, {2, 4}}).determinant().signum() == 0, "det [[1,2],[2,4]] is not 0");
+        check(matrix(mc, new double[][]{{1, 2, 3}, {4, 5, 6}, {7, 8, 9}}).determinant().signum() == 0,
+                "det [[1,2,3],[4,5,6],[7,8,9]] is not 0");
+        try {
+            matrix(mc, new double[][]{{1, 2}, {2, 4}}).solve(matrix(mc, new double[][]{{1}, {1}}));
+        } catch (ArithmeticException e) {
+            return;
+        }
+        throw new AssertionError("a singular system was solved");
+    }
+
+    /**
+     * LDL^T does not pivot, so the tiny leading pivot of this symmetric matrix would multiply its rounding error
+     * by 1e8 on the way through; the decomposition reports the unstable pivot and solving falls back to LU
+     */
+    private static void unstableLdlPivotFallsBackToLU() {
+        MathContext mc = new MathContext(16);
+        Matrix a = matrix(mc, new double[][]{
+                {1e-8, 1, 1, 0.3},
+                {1, 1e-8, 1, 0.7},
+                {1, 1, 1e-8, 0.2},
+                {0.3, 0.7, 0.2, 1e-8}
+        });
+        Matrix b = matrix(mc, new double[][]{{1}, {2}, {3}, {4}});
+        check(a.ldl().hasBrokenDown(), "the unstable pivot was accepted");
+        check(a.solve(b).equals(a.lu().solve(b)), "the solve did not fall back to LU");
+        check(a.solve(b).getBigDecimal(0, 0).compareTo(new BigDecimal("10.10000104060013")) == 0,
+                "x0 = " + a.solve(b).getBigDecimal(0, 0));
+
+        // An indefinite matrix with well-sized pivots still factors
+        Matrix indefinite = matrix(mc, new double[][]{{4, 1, 2}, {1, -3, 1}, {2, 1, 5}});
+        check(!indefinite.ldl().hasBrokenDown(), "a stable indefinite matrix was rejected");
+        check(indefinite.determinant().compareTo(new BigDecimal("-53")) == 0, "det = " + indefinite.determinant());
+    }
+
+    /**
+     * Without a context products are exact, so every squaring used to double the scale of the entries, and these
+     * powers built values with tens of thousands of digits
+     */
+    private static void powersWithoutContextKeepBoundedScale() {
+        Matrix diagonal = new Matrix(new double[][]{{0.5, 0}, {0, 0.25}}).pow(20000);
+        Matrix general = new Matrix(new double[][]{{0.9, 0.1}, {0.1, 0.9}});
+        Matrix[] powers = {diagonal, general.pow(20000), general.diagonalize().pow(20000)};
+        for (Matrix power : powers) {
+            for (int i = 0; i < 2; i++) {
+                for (int j = 0; j < 2; j++) {
+                    int scale = power.getBigDecimal(i, j).scale();
+                    check(scale <= Matrix.decimalCount, "a power has an entry of scale " + scale);
+                }
+            }
+        }
+        // The eigenvalues are 1 and 0.8, and 0.8^20000 is far below the last kept place
+        check(powers[1].getBigDecimal(0, 1).subtract(new BigDecimal("0.5")).abs()
+                .compareTo(BigDecimal.ONE.scaleByPowerOfTen(-25)) < 0, "[[.9,.1],[.1,.9]]^20000 is off");
+        check(general.pow(3).getBigDecimal(0, 0).compareTo(new BigDecimal("0.756")) == 0, "small powers changed");
+    }
+
+    private static Matrix matrix(MathContext mc, double[][] values) {
+        return new Matrix(values).withPrecision(mc);
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Regression checks for {@link OffHeapMatrix}. Run the main method; any failure throws an {@link AssertionError}.
+ */
+public class OffHeapMatrixTest {
+    public static void main(String[] args) throws Exception {
+        closeWhileOtherThreadsRead();
+        useAfterCloseThrows();
+        System.out.println("All off-heap matrix checks passed");
+    }
+
+    /**
+     * Closing used to free the buffers under threads still reading them. Every read must now either complete with
+     * the stored values or throw IllegalStateException, however the close lands among the reads
+     */
+    private static void closeWhileOtherThreadsRead() throws Exception {
+        int n = 256;
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < 20; round++) {
+                OffHeapMatrix matrix = new OffHeapMatrix(n, n, 10);
+                for (int i = 0; i < n; i++) {
+                    for (int j = 0; j < n; j++) {
+                        matrix.set(i, j, i * n + j);
+                    }
+                }
+                CountDownLatch start = new CountDownLatch(1);
+                Future<?>[] readers = new Future<?>[threads];
+                for (int t = 0; t < threads; t++) {
+                    readers[t] = executor.submit(() -> {
+                        start.await();
+                        double[] row = new double[n];
+                        try {
+                            for (int k = 0; ; k++) {
+                                int i = k % n;
+                                matrix.getRow(i, row);
+                                check(row[n - 1] == i * n + n - 1, "row " + i + " read wrong values");
+                            }
+                        } catch (IllegalStateException e) {
+                            return null;
+                        }
+                    });
+                }
+                start.countDown();
+                Thread.sleep(1);
+                matrix.close();
+                for (Future<?> reader : readers) {
+                    reader.get(1, TimeUnit.MINUTES);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void useAfterCloseThrows() {
+        OffHeapMatrix matrix = OffHeapMatrix.identity(3);
+        matrix.close();
+        matrix.close();
+        check(matrix.isClosed(), "matrix is not closed");
+        try {
+            matrix.get(0, 0);
+        } catch (IllegalStateException e) {
+            return;
+        }
+        throw new AssertionError("a closed matrix was read");
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/**
+ * Regression checks for {@link PolynomialFitter}. Run the main method; any failure throws an {@link AssertionError}.
+ */
+public class PolynomialFitterTest {
+    public static void main(String[] args) {
+        closelySpacedPointsFit();
+        slidingWindowMatchesBatchFit();
+        repeatedXIsUnsolvable();
+        System.out.println("All polynomial fitter checks passed");
+    }
+
+    /**
+     * The fit works in t = (x - origin) / scale, so tiny spacing between the x values is not mistaken for a
+     * singular system: 50 points at x = i * 1e-5 on y = 1 + 2 * (x / 1e-5) + 3 * (x / 1e-5)^2
+     */
+    private static void closelySpacedPointsFit() {
+        PolynomialFitter fitter = new PolynomialFitter(2);
+        for (int i = 0; i < 50; i++) {
+            fitter.addPoint(i * 1e-5, 1 + 2 * i + 3 * i * i);
+        }
+        double[] coefficients = fitter.coefficients();
+        check(coefficients != null, "closely spaced points gave no fit");
+        checkClose(coefficients, new double[]{1, 2e5, 3e10}, 1e-9);
+    }
+
+    /**
+     * Points slide through a window of 20, across several rebuilds of the sums
+     */
+    private static void slidingWindowMatchesBatchFit() {
+        PolynomialFitter fitter = new PolynomialFitter(2);
+        for (int i = 0; i < 100; i++) {
+            fitter.addPoint(i, 2 + 3 * i - 0.5 * i * i);
+            if (fitter.size() > 20) {
+                fitter.removeOldest();
+            }
+        }
+        checkClose(fitter.coefficients(), new double[]{2, 3, -0.5}, 1e-8);
+    }
+
+    private static void repeatedXIsUnsolvable() {
+        PolynomialFitter fitter = new PolynomialFitter(1);
+        fitter.addPoint(1, 1);
+        fitter.addPoint(1, 2);
+        check(fitter.coefficients() == null, "a line through a single x was fitted");
+    }
+
+    /**
+     * Checks each coefficient to within a relative tolerance of its expected value
+     */
+    private static void checkClose(double[] actual, double[] expected, double tolerance) {
+        check(actual.length == expected.length, "expected " + expected.length + " coefficients");
+        for (int i = 0; i < expected.length; i++) {
+            check(Math.abs(actual[i] - expected[i]) <= tolerance * Math.abs(expected[i]),
+                    "coefficient " + i + " is " + actual[i] + ", expected " + expected[i]);
+        }
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * Regression checks for the structure-specialized paths of {@link Matrix}: each compares a structured kernel
+ * against the general elimination it replaces. Run the main method; any failure throws an {@link AssertionError}.
+ */
+public class StructuredKernelsTest {
+    public static void main(String[] args) {
+        diagonalPatternRightOperandThatIsNotSquare();
+        nonDominantTridiagonalPivots();
+        dominantTridiagonalMatchesLU();
+        System.out.println("All structured kernel checks passed");
+    }
+
+    /**
+     * A right operand with nothing off its diagonal is only diagonal if it is square; all-zero and
+     * rectangular diagonal patterns used to crash the diagonal kernel
+     */
+    private static void diagonalPatternRightOperandThatIsNotSquare() {
+        Matrix a = new Matrix(new double[][]{{1, 2}, {3, 4}});
+        check(sameValues(a.multiply(new Matrix(2, 3)), new Matrix(2, 3)), "2x2 times a 2x3 zero matrix");
+
+        Matrix b = new Matrix(new double[][]{{1, 2, 3}, {4, 5, 6}});
+        Matrix pattern = new Matrix(new double[][]{{2, 0, 0, 0}, {0, 3, 0, 0}, {0, 0, 4, 0}});
+        Matrix expected = new Matrix(new double[][]{{2, 6, 12, 0}, {8, 15, 24, 0}});
+        check(sameValues(b.multiply(pattern), expected), "2x3 times a 3x4 diagonal pattern");
+    }
+
+    /**
+     * The Thomas algorithm does not pivot, so a tridiagonal matrix that is not diagonally dominant must go
+     * through the pivoting band solver: [[1e-10, 1], [1, 1]] * x = (1, 2) has x0 = 1.0000000001000000...
+     */
+    private static void nonDominantTridiagonalPivots() {
+        MathContext mc = new MathContext(16);
+        Matrix a = new Matrix(new double[][]{{1e-10, 1}, {1, 1}}).withPrecision(mc);
+        Matrix b = new Matrix(new double[][]{{1}, {2}}).withPrecision(mc);
+        BigDecimal x0 = a.solve(b).getBigDecimal(0, 0);
+        check(x0.compareTo(new BigDecimal("1.000000000100000")) == 0, "x0 = " + x0);
+    }
+
+    private static void dominantTridiagonalMatchesLU() {
+        MathContext mc = new MathContext(30);
+        Matrix a = new Matrix(new double[][]{
+                {4, 1, 0, 0, 0},
+                {1, -4, 1, 0, 0},
+                {0, 1, 4, 1, 0},
+                {0, 0, 1, -4, 1},
+                {0, 0, 0, 1, 4}
+        }).withPrecision(mc);
+        Matrix b = new Matrix(new double[][]{{1}, {2}, {3}, {4}, {5}}).withPrecision(mc);
+        // the two eliminations round differently, so only the leading 28 of the 30 digits are expected to agree
+        check(sameValues(a.solve(b), a.lu().solve(b), new MathContext(28)), "tridiagonal solve differs from LU");
+    }
+
+    private static boolean sameValues(Matrix actual, Matrix expected) {
+        return sameValues(actual, expected, MathContext.UNLIMITED);
+    }
+
+    /** Compares numerically after rounding to {@code digits}, since kernels may leave different scales */
+    private static boolean sameValues(Matrix actual, Matrix expected, MathContext digits) {
+        if (actual.rows() != expected.rows() || actual.columns() != expected.columns()) return false;
+        for (int i = 0; i < actual.rows(); i++) {
+            for (int j = 0; j < actual.columns(); j++) {
+                BigDecimal a = actual.getBigDecimal(i, j).round(digits);
+                if (a.compareTo(expected.getBigDecimal(i, j).round(digits)) != 0) return false;
+            }
+        }
+        return true;
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
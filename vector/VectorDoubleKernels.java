@@ -0,0 +1,81 @@
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link DoubleKernels} on the Java Vector API, using the widest vector shape the CPU supports --
+ * four lanes on AVX2, eight on AVX-512. Loops run whole vectors, then finish the tail with scalar steps.
+ * <p>
+ * Lives in its own source root because it needs {@code --add-modules jdk.incubator.vector} to compile and run;
+ * {@link DoubleKernels} only loads it by name when the module is present.
+ */
+final class VectorDoubleKernels extends DoubleKernels {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    String name() {
+        return SPECIES.toString();
+    }
+
+    @Override
+    void axpy(double a, double[] x, int xOffset, double[] y, int yOffset, int length) {
+        int i = 0;
+        int bound = SPECIES.loopBound(length);
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector vx = DoubleVector.fromArray(SPECIES, x, xOffset + i);
+            DoubleVector vy = DoubleVector.fromArray(SPECIES, y, yOffset + i);
+            // mul then add, never fma, so every lane rounds exactly like the scalar loop
+            vx.mul(a).add(vy).intoArray(y, yOffset + i);
+        }
+        for (; i < length; i++) {
+            y[yOffset + i] += a * x[xOffset + i];
+        }
+    }
+
+    @Override
+    void scale(double a, double[] x, int offset, int length) {
+        int i = 0;
+        int bound = SPECIES.loopBound(length);
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, x, offset + i).mul(a).intoArray(x, offset + i);
+        }
+        for (; i < length; i++) {
+            x[offset + i] *= a;
+        }
+    }
+
+    @Override
+    void scale(double a, double[] x, double[] out) {
+        int i = 0;
+        int bound = SPECIES.loopBound(x.length);
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, x, i).mul(a).intoArray(out, i);
+        }
+        for (; i < x.length; i++) {
+            out[i] = x[i] * a;
+        }
+    }
+
+    @Override
+    void add(double[] x, double[] y, double[] out) {
+        int i = 0;
+        int bound = SPECIES.loopBound(x.length);
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, x, i).add(DoubleVector.fromArray(SPECIES, y, i)).intoArray(out, i);
+        }
+        for (; i < x.length; i++) {
+            out[i] = x[i] + y[i];
+        }
+    }
+
+    @Override
+    void subtract(double[] x, double[] y, double[] out) {
+        int i = 0;
+        int bound = SPECIES.loopBound(x.length);
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, x, i).sub(DoubleVector.fromArray(SPECIES, y, i)).intoArray(out, i);
+        }
+        for (; i < x.length; i++) {
+            out[i] = x[i] - y[i];
+        }
+    }
+}